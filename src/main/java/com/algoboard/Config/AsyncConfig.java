@@ -1,18 +1,26 @@
 package com.algoboard.config;
 
+import com.algoboard.services.IMetricsProvider;
+import com.algoboard.utils.TimingWheel;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
     @Bean(name = "emailTaskExecutor")
-    public Executor emailTaskExecutor() {
+    public ThreadPoolTaskExecutor emailTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
@@ -21,4 +29,111 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // Outer fan-out of a user's four platform profiles (search, dashboards)
+    @Bean(name = "profileFetchExecutor")
+    public ThreadPoolTaskExecutor profileFetchExecutor() {
+        return boundedExecutor("ProfileFetch-", 16, 32, 100);
+    }
+
+    // Individual blocking upstream HTTP calls issued from inside a fetch
+    @Bean(name = "upstreamCallExecutor")
+    public ThreadPoolTaskExecutor upstreamCallExecutor() {
+        return boundedExecutor("Upstream-", 16, 64, 100);
+    }
+
+    // Per-platform legs of the contest list aggregation
+    @Bean(name = "contestFetchExecutor")
+    public ThreadPoolTaskExecutor contestFetchExecutor() {
+        return boundedExecutor("ContestFetch-", 4, 8, 50);
+    }
+
+    // Refreshes nobody is waiting on
+    @Bean(name = "backgroundRefreshExecutor")
+    public ThreadPoolTaskExecutor backgroundRefreshExecutor() {
+        return boundedExecutor("BackgroundRefresh-", 2, 4, 100);
+    }
+
+    // Contest reminder waves, one worker per pooled SMTP connection (app.reminders.smtp-connections)
+    @Bean(name = "reminderEmailExecutor")
+    public ThreadPoolTaskExecutor reminderEmailExecutor() {
+        return boundedExecutor("ReminderEmail-", 4, 4, 100);
+    }
+
+    // Tasks fired by the contest timing wheel
+    @Bean(name = "timerTaskExecutor")
+    public ThreadPoolTaskExecutor timerTaskExecutor() {
+        return boundedExecutor("Timer-", 2, 4, 1000);
+    }
+
+    // Writes to Server-Sent Events streams, at most one queued drain per open stream
+    @Bean(name = "sseSendExecutor")
+    public ThreadPoolTaskExecutor sseSendExecutor(@Value("${app.sse.max-connections:10000}") int maxConnections) {
+        return boundedExecutor("SseSend-", 4, 4, maxConnections);
+    }
+
+    // One-second ticks, 4 levels of 64 slots reach about 194 days ahead
+    @Bean(name = "contestTimingWheel", initMethod = "start", destroyMethod = "stop")
+    public TimingWheel contestTimingWheel(@Qualifier("timerTaskExecutor") ThreadPoolTaskExecutor timerTaskExecutor) {
+        return new TimingWheel("ContestTimingWheel", 1000, 64, 4, timerTaskExecutor);
+    }
+
+    @Bean
+    public IMetricsProvider timingWheelMetrics(@Qualifier("contestTimingWheel") TimingWheel contestTimingWheel) {
+        return new IMetricsProvider() {
+            @Override
+            public String getMetricsName() {
+                return "contestTimingWheel";
+            }
+
+            @Override
+            public Map<String, Object> getMetrics() {
+                Map<String, Object> metrics = new LinkedHashMap<>();
+                metrics.put("pending", contestTimingWheel.getPending());
+                metrics.put("fired", contestTimingWheel.getFired());
+                return metrics;
+            }
+        };
+    }
+
+    @Bean
+    public IMetricsProvider executorMetrics(Map<String, ThreadPoolTaskExecutor> executors) {
+        return new IMetricsProvider() {
+            @Override
+            public String getMetricsName() {
+                return "executors";
+            }
+
+            @Override
+            public Map<String, Object> getMetrics() {
+                Map<String, Object> metrics = new TreeMap<>();
+                executors.forEach((name, executor) -> {
+                    Map<String, Object> executorMetrics = new LinkedHashMap<>();
+                    executorMetrics.put("activeThreads", executor.getActiveCount());
+                    executorMetrics.put("poolSize", executor.getPoolSize());
+                    executorMetrics.put("maxPoolSize", executor.getMaxPoolSize());
+                    executorMetrics.put("queueSize", executor.getQueueSize());
+                    executorMetrics.put("queueCapacity", executor.getQueueCapacity());
+                    executorMetrics.put("completedTasks", executor.getThreadPoolExecutor().getCompletedTaskCount());
+                    metrics.put(name, executorMetrics);
+                });
+                return metrics;
+            }
+        };
+    }
+
+    // Once the queue is full the submitting thread runs the task itself, which
+    // throttles callers instead of failing them and cannot deadlock nested fan-outs
+    private static ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int corePoolSize, int maxPoolSize,
+            int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
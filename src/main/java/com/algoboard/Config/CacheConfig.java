@@ -1,26 +1,156 @@
 package com.algoboard.config;
 
+import com.algoboard.entities.Codeforces;
+import com.algoboard.entities.Leetcode;
+import com.algoboard.entities.Platforms;
+import com.algoboard.services.HandleDirectory;
+import com.algoboard.services.IMetricsProvider;
+import com.algoboard.services.ProfileCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 @Configuration
 @EnableCaching
 @EnableScheduling
 public class CacheConfig {
+    private static final List<String> PROFILE_CACHES = List.of(
+            "leetcodeProfile",
+            "codeforcesProfile",
+            "codechefProfile",
+            "atcoderProfile");
+    // One unit per profile plus one per contest / recent submission it carries
+    private static final long DEFAULT_MAX_WEIGHT = 50000;
+    private static final long DEFAULT_USER_HANDLES_MAX_SIZE = 10000;
+    private static final long DEFAULT_USER_HANDLES_TTL_MINUTES = 10;
+    // Only for values put without going through ProfileCacheService
+    private static final long FALLBACK_TTL_NANOS = 3600L * 1000000000L;
 
+    /*
+     * Caffeine caches bounded by total weight rather than entry count, so a
+     * few handles with years of contest history cannot crowd the heap the way
+     * thousands of small ones would. Admission is W-TinyLFU: a handle searched
+     * once does not push out profiles that are read all the time. Limits are
+     * per cache, app.cache.<name>.max-weight; each entry expires at the
+     * jittered deadline ProfileCacheService gave it. Profiles are keyed by
+     * platform handle; userHandles maps usernames to those handles.
+     */
     @Bean
-    public CacheManager cacheManager() {
-        // Simple in-memory cache manager with all required caches
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
-                "contestList",
-                "leetcodeProfile",
-                "codeforcesProfile",
-                "codechefProfile",
-                "atcoderProfile");
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist, a typo in a cache name fails instead of growing a new cache
+        cacheManager.setCacheNames(Collections.emptyList());
+        for (String name : PROFILE_CACHES) {
+            long maxWeight = environment.getProperty("app.cache." + name + ".max-weight", Long.class,
+                    DEFAULT_MAX_WEIGHT);
+            Cache<Object, Object> cache = Caffeine.newBuilder()
+                    .maximumWeight(maxWeight)
+                    .weigher(CacheConfig::weigh)
+                    .expireAfter(PROFILE_EXPIRY)
+                    .recordStats()
+                    .build();
+            cacheManager.registerCustomCache(name, cache);
+        }
+        // A few strings per user, bounded by count; the TTL only limits how long a missed eviction could last
+        cacheManager.registerCustomCache(HandleDirectory.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(environment.getProperty("app.cache.userHandles.max-size", Long.class,
+                        DEFAULT_USER_HANDLES_MAX_SIZE))
+                .expireAfterWrite(Duration.ofMinutes(environment.getProperty("app.cache.userHandles.ttl-minutes",
+                        Long.class, DEFAULT_USER_HANDLES_TTL_MINUTES)))
+                .recordStats()
+                .build());
         return cacheManager;
     }
+
+    @Bean
+    public IMetricsProvider cacheMetrics(CacheManager cacheManager) {
+        return new IMetricsProvider() {
+            @Override
+            public String getMetricsName() {
+                return "caches";
+            }
+
+            @Override
+            public Map<String, Object> getMetrics() {
+                Map<String, Object> metrics = new TreeMap<>();
+                for (String name : cacheManager.getCacheNames()) {
+                    if (!(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+                        continue;
+                    }
+                    Cache<Object, Object> cache = caffeineCache.getNativeCache();
+                    CacheStats stats = cache.stats();
+                    Map<String, Object> cacheMetrics = new LinkedHashMap<>();
+                    cacheMetrics.put("size", cache.estimatedSize());
+                    cache.policy().eviction().ifPresent(eviction -> {
+                        if (eviction.weightedSize().isPresent()) {
+                            cacheMetrics.put("weight", eviction.weightedSize().getAsLong());
+                            cacheMetrics.put("maxWeight", eviction.getMaximum());
+                        } else {
+                            cacheMetrics.put("maxSize", eviction.getMaximum());
+                        }
+                    });
+                    cacheMetrics.put("hits", stats.hitCount());
+                    cacheMetrics.put("misses", stats.missCount());
+                    cacheMetrics.put("hitRate", stats.hitRate());
+                    cacheMetrics.put("evictions", stats.evictionCount());
+                    cacheMetrics.put("evictedWeight", stats.evictionWeight());
+                    metrics.put(name, cacheMetrics);
+                }
+                return metrics;
+            }
+        };
+    }
+
+    private static final Expiry<Object, Object> PROFILE_EXPIRY = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            if (value instanceof ProfileCacheService.CachedProfile cached) {
+                return Math.max(0, cached.getExpiresAt() - System.currentTimeMillis()) * 1000000L;
+            }
+            return FALLBACK_TTL_NANOS;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
+    private static int weigh(Object key, Object value) {
+        if (value instanceof ProfileCacheService.CachedProfile cached) {
+            value = cached.getProfile();
+        }
+        int weight = 1;
+        if (value instanceof Platforms profile && profile.getContestHistory() != null) {
+            weight += profile.getContestHistory().size();
+        }
+        if (value instanceof Codeforces codeforces && codeforces.getRecentSubmissions() != null) {
+            weight += codeforces.getRecentSubmissions().size();
+        } else if (value instanceof Leetcode leetcode && leetcode.getRecentSubmissions() != null) {
+            weight += leetcode.getRecentSubmissions().size();
+        }
+        return weight;
+    }
 }
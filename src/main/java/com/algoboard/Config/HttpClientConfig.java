@@ -0,0 +1,110 @@
+package com.algoboard.config;
+
+import com.algoboard.services.IMetricsProvider;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// One pooled HTTP client shared by every platform fetcher, so connections
+// (and their TLS sessions) to each upstream host are kept alive and reused.
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${app.http.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${app.http.max-connections-per-host:20}")
+    private int maxConnectionsPerHost;
+
+    @Value("${app.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${app.http.read-timeout-ms:10000}")
+    private long readTimeoutMillis;
+
+    @Value("${app.http.pool-wait-timeout-ms:2000}")
+    private long poolWaitTimeoutMillis;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .setTimeToLive(TimeValue.ofMinutes(5))
+                .build();
+        // Every platform lives on its own host, so the per-route limit is a per-platform limit
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        // Content compression is on by default: gzip/deflate are advertised and decoded transparently
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitTimeoutMillis))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .setContentCompressionEnabled(true)
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    @Bean
+    public IMetricsProvider httpClientMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new IMetricsProvider() {
+            @Override
+            public String getMetricsName() {
+                return "httpClient";
+            }
+
+            @Override
+            public Map<String, Object> getMetrics() {
+                Map<String, Object> metrics = new LinkedHashMap<>();
+                metrics.put("total", poolStats(httpConnectionManager.getTotalStats()));
+                for (HttpRoute route : httpConnectionManager.getRoutes()) {
+                    metrics.put(route.getTargetHost().getHostName(),
+                            poolStats(httpConnectionManager.getStats(route)));
+                }
+                return metrics;
+            }
+        };
+    }
+
+    private static Map<String, Object> poolStats(PoolStats stats) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("leased", stats.getLeased());
+        metrics.put("available", stats.getAvailable());
+        metrics.put("pending", stats.getPending());
+        metrics.put("max", stats.getMax());
+        return metrics;
+    }
+}
@@ -0,0 +1,49 @@
+package com.algoboard.config;
+
+import com.algoboard.entities.CodeforcesSubmissionBucket;
+import com.algoboard.entities.ReminderSubscription;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.List;
+
+/**
+ * spring.data.mongodb.auto-index-creation is off, so the indexes declared on
+ * these documents are created here at startup. Creating an index that already
+ * exists is a no-op.
+ */
+@Configuration
+public class MongoIndexConfig {
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            CodeforcesSubmissionBucket.class,
+            ReminderSubscription.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(document);
+            for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                try {
+                    indexOperations.createIndex(index);
+                } catch (Exception e) {
+                    System.out.println("Failed to create index " + index.getIndexKeys() + " on "
+                            + document.getSimpleName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
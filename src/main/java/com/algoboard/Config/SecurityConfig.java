@@ -43,7 +43,13 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/platforms/**").permitAll()
                         .requestMatchers("/api/home").permitAll()
+                        // Reminders send email to the account, only its owner may manage them
+                        .requestMatchers("/api/users/reminders").authenticated()
                         .requestMatchers("/api/users/**").permitAll()
+                        // EventSource cannot send an Authorization header
+                        .requestMatchers("/api/contest/events").permitAll()
+                        // Neither can calendar apps subscribing to the feed
+                        .requestMatchers("/api/contest/calendar.ics").permitAll()
                         // .requestMatchers("/api/**").permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
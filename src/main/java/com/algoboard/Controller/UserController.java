@@ -8,27 +8,43 @@ import com.algoboard.entities.User;
 import com.algoboard.services.IUserService;
 import com.algoboard.services.EmailService;
 import com.algoboard.services.CustomUserDetailsService;
+import com.algoboard.services.IMetricsProvider;
+import com.algoboard.services.ContestListService;
+import com.algoboard.services.ContestEventService;
+import com.algoboard.services.ContestReminderService;
+import com.algoboard.services.ContestCalendarFeedService;
+import com.algoboard.entities.ReminderSubscription;
 import com.algoboard.jwt.JwtService;
 import com.algoboard.DTO.RequestDTO.UserAuthenticationResponse;
 import com.algoboard.utils.ResponseUtil;
 import java.util.Map;
 import com.algoboard.DTO.RequestDTO.UserProfile;
 import org.springframework.dao.DuplicateKeyException;
-import com.algoboard.DTO.ContestDTO;
+import com.algoboard.DTO.ActivityDTO;
+import com.algoboard.DTO.ContestDeltaDTO;
 import java.util.List;
+import java.io.IOException;
+import jakarta.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api")
@@ -38,13 +54,28 @@ public class UserController {
     private final EmailService emailService;
     private final JwtService jwtService;
     private final CustomUserDetailsService customUserDetailsService;
+    private final List<IMetricsProvider> metricsProviders;
+    private final Executor profileFetchExecutor;
+    private final ContestListService contestListService;
+    private final ContestEventService contestEventService;
+    private final ContestReminderService contestReminderService;
+    private final ContestCalendarFeedService contestCalendarFeedService;
 
     public UserController(IUserService userService, EmailService emailService,
-            JwtService jwtService, CustomUserDetailsService customUserDetailsService) {
+            JwtService jwtService, CustomUserDetailsService customUserDetailsService,
+            List<IMetricsProvider> metricsProviders, @Qualifier("profileFetchExecutor") Executor profileFetchExecutor,
+            ContestListService contestListService, ContestEventService contestEventService,
+            ContestReminderService contestReminderService, ContestCalendarFeedService contestCalendarFeedService) {
         this.userService = userService;
         this.emailService = emailService;
         this.jwtService = jwtService;
         this.customUserDetailsService = customUserDetailsService;
+        this.metricsProviders = metricsProviders;
+        this.profileFetchExecutor = profileFetchExecutor;
+        this.contestListService = contestListService;
+        this.contestEventService = contestEventService;
+        this.contestReminderService = contestReminderService;
+        this.contestCalendarFeedService = contestCalendarFeedService;
     }
 
     @GetMapping("/home")
@@ -308,18 +339,157 @@ public class UserController {
         }
     }
 
+    // Conditional on the ETag, clients holding the current list get an empty 304
     @GetMapping("/contest/list")
-    public ResponseEntity<?> getContestList() {
+    public ResponseEntity<?> getContestList(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<ContestDTO> contestList = userService.getContestList();
-            return ResponseEntity
-                    .ok(ResponseUtil.createSuccessResponse("Contest list retrieved successfully", contestList));
+            ContestListService.VersionedView contestList = contestListService.getVersionedView();
+            String eTag = contestList.getETag();
+            if (eTagMatches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            Map<String, Object> response = ResponseUtil.createSuccessResponse("Contest list retrieved successfully",
+                    contestList.getView().getContests());
+            response.put("version", contestList.getVersion());
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(response);
         } catch (Exception e) {
             return ResponseEntity.status(500)
                     .body(ResponseUtil.createErrorResponse("Error fetching contest list: " + e.getMessage()));
         }
     }
 
+    // Contests added, removed or changed since the version the client holds
+    @GetMapping("/contest/list/delta")
+    public ResponseEntity<?> getContestListDelta(@RequestParam long since) {
+        try {
+            ContestDeltaDTO delta = contestListService.getDelta(since);
+            return ResponseEntity
+                    .ok(ResponseUtil.createSuccessResponse("Contest list changes retrieved successfully", delta));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ResponseUtil.createErrorResponse("Error fetching contest list changes: " + e.getMessage()));
+        }
+    }
+
+    // iCalendar feed for calendar apps, optionally limited to a user's linked platforms and/or ?platforms=a,b
+    @GetMapping("/contest/calendar.ics")
+    public ResponseEntity<?> getContestCalendar(@RequestParam(required = false) String username,
+            @RequestParam(required = false) String platforms,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
+        ContestCalendarFeedService.Feed feed;
+        try {
+            feed = contestCalendarFeedService.getFeed(username, platforms);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(ResponseUtil.createErrorResponse("Invalid calendar filter: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ResponseUtil.createErrorResponse("Error building contest calendar: " + e.getMessage()));
+        }
+        if (feed == null) {
+            return ResponseEntity.status(404).body(ResponseUtil.createErrorResponse("User not found"));
+        }
+        if (eTagMatches(ifNoneMatch, feed.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(feed.getETag())
+                    .cacheControl(CacheControl.noCache()).build();
+        }
+        // The cached bytes go straight to the socket; returning null tells Spring the response is written
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("text/calendar;charset=UTF-8");
+        response.setHeader("ETag", feed.getETag());
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("Content-Disposition", "inline; filename=\"algoboard-contests.ics\"");
+        response.setContentLength(feed.getBody().length);
+        response.getOutputStream().write(feed.getBody());
+        return null;
+    }
+
+    // Server-Sent Events stream of contests going live, finishing and being added or changed
+    @GetMapping("/contest/events")
+    public ResponseEntity<?> getContestEvents() {
+        SseEmitter emitter = contestEventService.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ResponseUtil.createErrorResponse("Too many open contest event streams, try again later"));
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    // Reminder endpoints act on the authenticated user only, never on a username from the request
+    @GetMapping("/users/reminders")
+    public ResponseEntity<?> getReminders(@AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("subscriptions", contestReminderService.getSubscriptions(userDetails.getUsername()));
+            response.put("offsetsMinutes", contestReminderService.getOffsetsMinutes());
+            return ResponseEntity.ok(ResponseUtil.createSuccessResponse("Reminders retrieved successfully", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(ResponseUtil.createErrorResponse("Failed to fetch reminders: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ResponseUtil.createErrorResponse("Internal Server Error: " + e.getMessage()));
+        }
+    }
+
+    // Payload: platform, offsetMinutes; subscribing again replaces the offset
+    @PostMapping("/users/reminders")
+    public ResponseEntity<?> subscribeReminder(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody Map<String, String> payload) {
+        try {
+            String offset = payload.get("offsetMinutes");
+            if (offset == null) {
+                throw new IllegalArgumentException("offsetMinutes is required");
+            }
+            ReminderSubscription subscription = contestReminderService.subscribe(userDetails.getUsername(),
+                    payload.get("platform"), Integer.parseInt(offset.trim()));
+            return ResponseEntity.ok(ResponseUtil.createSuccessResponse("Reminder saved successfully", subscription));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(ResponseUtil.createErrorResponse("Subscription failed: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ResponseUtil.createErrorResponse("Internal Server Error: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/users/reminders")
+    public ResponseEntity<?> unsubscribeReminder(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam String platform) {
+        try {
+            if (contestReminderService.unsubscribe(userDetails.getUsername(), platform)) {
+                return ResponseEntity.ok(ResponseUtil.createSuccessResponse("Reminder removed successfully", null));
+            }
+            return ResponseEntity.status(404)
+                    .body(ResponseUtil.createErrorResponse("No reminder found for " + platform));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(ResponseUtil.createErrorResponse("Unsubscribe failed: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ResponseUtil.createErrorResponse("Internal Server Error: " + e.getMessage()));
+        }
+    }
+
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @GetMapping("/platforms/codeforces")
     public ResponseEntity<?> getCodeforcesProfile(@RequestParam String username) {
         try {
@@ -392,16 +562,16 @@ public class UserController {
         try {
             // Create async tasks for each profile fetch
             CompletableFuture<Codeforces> codeforcesTask = CompletableFuture
-                    .supplyAsync(() -> userService.getCodeforcesProfile(username));
+                    .supplyAsync(() -> userService.getCodeforcesProfile(username), profileFetchExecutor);
 
             CompletableFuture<Atcoder> atcoderTask = CompletableFuture
-                    .supplyAsync(() -> userService.getAtcoderProfile(username));
+                    .supplyAsync(() -> userService.getAtcoderProfile(username), profileFetchExecutor);
 
             CompletableFuture<Codechef> codechefTask = CompletableFuture
-                    .supplyAsync(() -> userService.getCodechefProfile(username));
+                    .supplyAsync(() -> userService.getCodechefProfile(username), profileFetchExecutor);
 
             CompletableFuture<Leetcode> leetcodeTask = CompletableFuture
-                    .supplyAsync(() -> userService.getLeetcodeProfile(username));
+                    .supplyAsync(() -> userService.getLeetcodeProfile(username), profileFetchExecutor);
 
             // Wait for all tasks to complete
             CompletableFuture.allOf(codeforcesTask, atcoderTask, codechefTask, leetcodeTask).join();
@@ -487,4 +657,32 @@ public class UserController {
                     .body(ResponseUtil.createErrorResponse("Error fetching LeetCode profile: " + e.getMessage()));
         }
     }
+
+    @GetMapping("users/activity")
+    public ResponseEntity<?> getActivity(@RequestParam String username,
+            @RequestParam(defaultValue = "365") int days) {
+        try {
+            ActivityDTO activity = userService.getActivity(username, days);
+            return ResponseEntity.ok(ResponseUtil.createSuccessResponse("Activity fetched successfully", activity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ResponseUtil.createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ResponseUtil.createErrorResponse("Error fetching activity: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<?> getMetrics() {
+        try {
+            Map<String, Object> metrics = new HashMap<>();
+            for (IMetricsProvider provider : metricsProviders) {
+                metrics.put(provider.getMetricsName(), provider.getMetrics());
+            }
+            return ResponseEntity.ok(ResponseUtil.createSuccessResponse("Metrics fetched successfully", metrics));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ResponseUtil.createErrorResponse("Error fetching metrics: " + e.getMessage()));
+        }
+    }
 }
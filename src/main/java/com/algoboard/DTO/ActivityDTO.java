@@ -0,0 +1,72 @@
+package com.algoboard.DTO;
+
+import java.time.LocalDate;
+
+public class ActivityDTO {
+    // counts[i] is the number of submissions made on startDate + i days
+    private LocalDate startDate;
+    private int[] counts;
+    private long totalSubmissions;
+    private long activeDays;
+    private long currentStreak;
+    private long longestStreak;
+
+    public ActivityDTO(LocalDate startDate, int[] counts, long totalSubmissions, long activeDays, long currentStreak,
+            long longestStreak) {
+        this.startDate = startDate;
+        this.counts = counts;
+        this.totalSubmissions = totalSubmissions;
+        this.activeDays = activeDays;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+    }
+
+    // getters and setters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public int[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(int[] counts) {
+        this.counts = counts;
+    }
+
+    public long getTotalSubmissions() {
+        return totalSubmissions;
+    }
+
+    public void setTotalSubmissions(long totalSubmissions) {
+        this.totalSubmissions = totalSubmissions;
+    }
+
+    public long getActiveDays() {
+        return activeDays;
+    }
+
+    public void setActiveDays(long activeDays) {
+        this.activeDays = activeDays;
+    }
+
+    public long getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(long currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public long getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(long longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+}
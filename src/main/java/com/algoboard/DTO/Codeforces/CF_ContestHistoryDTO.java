@@ -9,13 +9,16 @@ public class CF_ContestHistoryDTO {
     public static class Result {
         private long contestId;
         private String contestName;
+        private String handle;
         private long rank;
         private long oldRating;
         private long newRating;
 
-        public Result(long contestId, String contestName, long rank, long oldRating, long newRating) {
+        public Result(long contestId, String contestName, String handle, long rank, long oldRating,
+                long newRating) {
             this.contestId = contestId;
             this.contestName = contestName;
+            this.handle = handle;
             this.rank = rank;
             this.oldRating = oldRating;
             this.newRating = newRating;
@@ -30,6 +33,10 @@ public class CF_ContestHistoryDTO {
             return contestName;
         }
 
+        public String getHandle() {
+            return handle;
+        }
+
         public long getRank() {
             return rank;
         }
@@ -0,0 +1,69 @@
+package com.algoboard.DTO.Codeforces;
+
+import java.util.List;
+
+public class CF_ProblemsetDTO {
+    private String status;
+    private Result result;
+
+    public CF_ProblemsetDTO(String status, Result result) {
+        this.status = status;
+        this.result = result;
+    }
+
+    public static class Result {
+        private List<Problem> problems;
+
+        public Result(List<Problem> problems) {
+            this.problems = problems;
+        }
+
+        public List<Problem> getProblems() {
+            return problems;
+        }
+    }
+
+    public static class Problem {
+        private Long contestId;
+        private String index;
+        private String name;
+        private Integer rating;
+        private List<String> tags;
+
+        public Problem(Long contestId, String index, String name, Integer rating, List<String> tags) {
+            this.contestId = contestId;
+            this.index = index;
+            this.name = name;
+            this.rating = rating;
+            this.tags = tags;
+        }
+
+        public Long getContestId() {
+            return contestId;
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getRating() {
+            return rating;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 public class CF_UserDTO {
     private String status;
+    private String comment;
     private List<Result> result;
 
     public static class Result {
@@ -58,6 +59,10 @@ public class CF_UserDTO {
         return status;
     }
 
+    public String getComment() {
+        return comment;
+    }
+
     public List<Result> getResult() {
         return result;
     }
@@ -1,6 +1,7 @@
 package com.algoboard.DTO;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 public class ContestDTO {
     private String contestId;
@@ -78,6 +79,29 @@ public class ContestDTO {
         this.duration = duration;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContestDTO)) {
+            return false;
+        }
+        ContestDTO that = (ContestDTO) o;
+        return duration == that.duration
+                && Objects.equals(contestId, that.contestId)
+                && Objects.equals(contestName, that.contestName)
+                && Objects.equals(contestUrl, that.contestUrl)
+                && Objects.equals(platform, that.platform)
+                && Objects.equals(startTime, that.startTime)
+                && Objects.equals(endTime, that.endTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(contestId, contestName, contestUrl, platform, startTime, endTime, duration);
+    }
+
     @Override
     public String toString() {
         return "CFContest{" +
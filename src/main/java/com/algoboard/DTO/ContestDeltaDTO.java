@@ -0,0 +1,63 @@
+package com.algoboard.DTO;
+
+import java.util.List;
+
+public class ContestDeltaDTO {
+    // Version the client is at after applying this delta
+    private long version;
+    // True when the requested version is unknown, added then holds the whole list
+    private boolean full;
+    private List<ContestDTO> added;
+    private List<ContestDTO> removed;
+    private List<ContestDTO> changed;
+
+    public ContestDeltaDTO(long version, boolean full, List<ContestDTO> added, List<ContestDTO> removed,
+            List<ContestDTO> changed) {
+        this.version = version;
+        this.full = full;
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+    }
+
+    // getters and setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public List<ContestDTO> getAdded() {
+        return added;
+    }
+
+    public void setAdded(List<ContestDTO> added) {
+        this.added = added;
+    }
+
+    public List<ContestDTO> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<ContestDTO> removed) {
+        this.removed = removed;
+    }
+
+    public List<ContestDTO> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<ContestDTO> changed) {
+        this.changed = changed;
+    }
+}
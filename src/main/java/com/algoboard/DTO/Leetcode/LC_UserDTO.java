@@ -1,18 +1,23 @@
 package com.algoboard.DTO.Leetcode;
 
 import java.util.List;
+import java.util.Map;
 
 public class LC_UserDTO {
     private List<RecentSubmission> recentSubmissions;
     private String status;
     private SubmitStats submitStats;
     private String username;
+    // Submissions per day keyed by the UTC midnight epoch second
+    private Map<String, Integer> submissionCalendar;
 
-    public LC_UserDTO(List<RecentSubmission> recentSubmissions, String status, SubmitStats submitStats, String username) {
+    public LC_UserDTO(List<RecentSubmission> recentSubmissions, String status, SubmitStats submitStats, String username,
+            Map<String, Integer> submissionCalendar) {
         this.recentSubmissions = recentSubmissions;
         this.status = status;
         this.submitStats = submitStats;
         this.username = username;
+        this.submissionCalendar = submissionCalendar;
     }
 
     public List<RecentSubmission> getRecentSubmissions() {
@@ -47,6 +52,14 @@ public class LC_UserDTO {
         this.username = username;
     }
 
+    public Map<String, Integer> getSubmissionCalendar() {
+        return submissionCalendar;
+    }
+
+    public void setSubmissionCalendar(Map<String, Integer> submissionCalendar) {
+        this.submissionCalendar = submissionCalendar;
+    }
+
     // RecentSubmission nested class
     public static class RecentSubmission {
         private String lang;
@@ -0,0 +1,103 @@
+package com.algoboard.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+// Daily submission counts of one handle on one platform. counts[i] is the
+// number of submissions made on epoch day firstDay + i, in dayZone. Every
+// platform is counted in UTC days, the only days LeetCode reports.
+@Document(collection = "activity_calendar")
+public class ActivityCalendar {
+    @Id
+    private String id;
+    private String platform;
+    private String handle;
+    private long firstDay;
+    private int[] counts;
+    // Newest submission already counted, only used for platforms with submission ids
+    private long lastSubmissionId;
+    private LocalDateTime updatedAt;
+    // Zone the days are counted in; calendars saved before it was recorded used IST for Codeforces
+    private String dayZone;
+
+    public ActivityCalendar(String id, String platform, String handle, long firstDay, int[] counts,
+            long lastSubmissionId, LocalDateTime updatedAt) {
+        this.id = id;
+        this.platform = platform;
+        this.handle = handle;
+        this.firstDay = firstDay;
+        this.counts = counts;
+        this.lastSubmissionId = lastSubmissionId;
+        this.updatedAt = updatedAt;
+    }
+
+    // Default constructor
+    public ActivityCalendar() {
+
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPlatform() {
+        return platform;
+    }
+
+    public void setPlatform(String platform) {
+        this.platform = platform;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    public long getFirstDay() {
+        return firstDay;
+    }
+
+    public void setFirstDay(long firstDay) {
+        this.firstDay = firstDay;
+    }
+
+    public int[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(int[] counts) {
+        this.counts = counts;
+    }
+
+    public long getLastSubmissionId() {
+        return lastSubmissionId;
+    }
+
+    public void setLastSubmissionId(long lastSubmissionId) {
+        this.lastSubmissionId = lastSubmissionId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getDayZone() {
+        return dayZone;
+    }
+
+    public void setDayZone(String dayZone) {
+        this.dayZone = dayZone;
+    }
+}
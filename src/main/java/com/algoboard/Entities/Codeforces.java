@@ -1,6 +1,7 @@
 package com.algoboard.entities;
 
 import java.util.List;
+import java.util.Map;
 
 public class Codeforces extends Platforms {
 
@@ -9,6 +10,9 @@ public class Codeforces extends Platforms {
     private long totalSubmissions;
     private long acceptedSubmissions;
     private List<Problem> recentSubmissions;
+    // Accepted problems per rating band and per tag, null until the problem catalog is loaded
+    private Map<String, Long> solvedByRating;
+    private Map<String, Long> solvedByTag;
 
     public static class Problem {
         private long id;
@@ -112,4 +116,20 @@ public class Codeforces extends Platforms {
     public void setRecentSubmissions(List<Problem> recentSubmissions) {
         this.recentSubmissions = recentSubmissions;
     }
+
+    public Map<String, Long> getSolvedByRating() {
+        return solvedByRating;
+    }
+
+    public void setSolvedByRating(Map<String, Long> solvedByRating) {
+        this.solvedByRating = solvedByRating;
+    }
+
+    public Map<String, Long> getSolvedByTag() {
+        return solvedByTag;
+    }
+
+    public void setSolvedByTag(Map<String, Long> solvedByTag) {
+        this.solvedByTag = solvedByTag;
+    }
 }
@@ -0,0 +1,52 @@
+package com.algoboard.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Persisted Codeforces rating history of a handle, newest contest first. Seeded
+// from user.rating and kept current by the post-contest ratingChanges job.
+@Document(collection = "codeforces_rating_history")
+public class CodeforcesRatingHistory {
+    @Id
+    private String handle;
+    private List<UserContestHistory> contestHistory;
+    // Last time the full history was taken from user.rating
+    private LocalDateTime fetchedAt;
+
+    public CodeforcesRatingHistory(String handle, List<UserContestHistory> contestHistory, LocalDateTime fetchedAt) {
+        this.handle = handle;
+        this.contestHistory = contestHistory;
+        this.fetchedAt = fetchedAt;
+    }
+
+    // Default constructor
+    public CodeforcesRatingHistory() {
+
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    public List<UserContestHistory> getContestHistory() {
+        return contestHistory;
+    }
+
+    public void setContestHistory(List<UserContestHistory> contestHistory) {
+        this.contestHistory = contestHistory;
+    }
+
+    public LocalDateTime getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(LocalDateTime fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
@@ -0,0 +1,94 @@
+package com.algoboard.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.util.List;
+
+// Judged Codeforces submissions of one handle made in one calendar month (IST),
+// stored in compact form. Range reads go through the (handle, month) index.
+@Document(collection = "codeforces_submission_buckets")
+@CompoundIndex(name = "handle_month", def = "{'handle': 1, 'month': 1}", unique = true)
+public class CodeforcesSubmissionBucket {
+    @Id
+    private String id;
+    private String handle;
+    // yyyyMM, e.g. 202510
+    private int month;
+    private List<Entry> submissions;
+
+    public static class Entry {
+        private long id;
+        private long time;
+        // Packed problem key, see SolvedProblemSet
+        private long problemKey;
+        private String verdict;
+
+        public Entry(long id, long time, long problemKey, String verdict) {
+            this.id = id;
+            this.time = time;
+            this.problemKey = problemKey;
+            this.verdict = verdict;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public long getProblemKey() {
+            return problemKey;
+        }
+
+        public String getVerdict() {
+            return verdict;
+        }
+    }
+
+    public CodeforcesSubmissionBucket(String id, String handle, int month, List<Entry> submissions) {
+        this.id = id;
+        this.handle = handle;
+        this.month = month;
+        this.submissions = submissions;
+    }
+
+    // Default constructor
+    public CodeforcesSubmissionBucket() {
+
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public void setMonth(int month) {
+        this.month = month;
+    }
+
+    public List<Entry> getSubmissions() {
+        return submissions;
+    }
+
+    public void setSubmissions(List<Entry> submissions) {
+        this.submissions = submissions;
+    }
+}
@@ -0,0 +1,127 @@
+package com.algoboard.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-handle cursor into the Codeforces user.status feed together with the
+// running aggregates computed from every submission up to that cursor.
+@Document(collection = "codeforces_sync_state")
+public class CodeforcesSyncState {
+    @Id
+    private String handle;
+    private long lastSubmissionId;
+    private long totalSubmissions;
+    private long acceptedSubmissions;
+    // Packed problem keys, see SolvedProblemSet
+    private long[] problemKeys;
+    // Packed keys of the problems with at least one accepted submission
+    private long[] acceptedProblemKeys;
+    private List<Codeforces.Problem> recentSubmissions;
+    private LocalDateTime lastSyncedAt;
+    // Whether every submission up to the cursor is in the submission archive
+    private boolean archived;
+
+    public CodeforcesSyncState(String handle, long lastSubmissionId, long totalSubmissions, long acceptedSubmissions,
+            long[] problemKeys, List<Codeforces.Problem> recentSubmissions, LocalDateTime lastSyncedAt) {
+        this.handle = handle;
+        this.lastSubmissionId = lastSubmissionId;
+        this.totalSubmissions = totalSubmissions;
+        this.acceptedSubmissions = acceptedSubmissions;
+        this.problemKeys = problemKeys;
+        this.recentSubmissions = recentSubmissions;
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    // Default constructor
+    public CodeforcesSyncState() {
+
+    }
+
+    public CodeforcesSyncState(String handle) {
+        this(handle, 0, 0, 0, new long[0], new ArrayList<>(), null);
+        this.acceptedProblemKeys = new long[0];
+    }
+
+    // Copy constructor, used when pending submissions are layered on top of the persisted state
+    public CodeforcesSyncState(CodeforcesSyncState other) {
+        this(other.handle, other.lastSubmissionId, other.totalSubmissions, other.acceptedSubmissions,
+                other.problemKeys.clone(), new ArrayList<>(other.recentSubmissions), other.lastSyncedAt);
+        this.acceptedProblemKeys = other.acceptedProblemKeys == null ? null : other.acceptedProblemKeys.clone();
+        this.archived = other.archived;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    public long getLastSubmissionId() {
+        return lastSubmissionId;
+    }
+
+    public void setLastSubmissionId(long lastSubmissionId) {
+        this.lastSubmissionId = lastSubmissionId;
+    }
+
+    public long getTotalSubmissions() {
+        return totalSubmissions;
+    }
+
+    public void setTotalSubmissions(long totalSubmissions) {
+        this.totalSubmissions = totalSubmissions;
+    }
+
+    public long getAcceptedSubmissions() {
+        return acceptedSubmissions;
+    }
+
+    public void setAcceptedSubmissions(long acceptedSubmissions) {
+        this.acceptedSubmissions = acceptedSubmissions;
+    }
+
+    public long[] getProblemKeys() {
+        return problemKeys;
+    }
+
+    public void setProblemKeys(long[] problemKeys) {
+        this.problemKeys = problemKeys;
+    }
+
+    public long[] getAcceptedProblemKeys() {
+        return acceptedProblemKeys;
+    }
+
+    public void setAcceptedProblemKeys(long[] acceptedProblemKeys) {
+        this.acceptedProblemKeys = acceptedProblemKeys;
+    }
+
+    public List<Codeforces.Problem> getRecentSubmissions() {
+        return recentSubmissions;
+    }
+
+    public void setRecentSubmissions(List<Codeforces.Problem> recentSubmissions) {
+        this.recentSubmissions = recentSubmissions;
+    }
+
+    public LocalDateTime getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(LocalDateTime lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+}
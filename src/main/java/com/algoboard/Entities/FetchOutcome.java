@@ -0,0 +1,17 @@
+package com.algoboard.entities;
+
+// How a profile fetch went; the profile caches use it to decide how long, and
+// whether, to keep the result
+public enum FetchOutcome {
+    FOUND,
+    // The platform answered that the handle does not exist
+    NOT_FOUND,
+    // Timeout, 5xx, open circuit breaker or full bulkhead
+    UPSTREAM_ERROR,
+    // The platform (or our own limiter for it) asked us to slow down
+    RATE_LIMITED;
+
+    public boolean isError() {
+        return this == UPSTREAM_ERROR || this == RATE_LIMITED;
+    }
+}
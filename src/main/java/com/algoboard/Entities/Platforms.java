@@ -1,5 +1,6 @@
 package com.algoboard.entities;
 
+import org.springframework.data.annotation.Transient;
 import java.util.List;
 
 public abstract class Platforms {
@@ -9,7 +10,11 @@ public abstract class Platforms {
     private long maxRating;
     private long contestParticipations;
     private List<UserContestHistory> contestHistory;
-
+    // Served from the last good snapshot because the platform could not be reached
+    private boolean stale;
+    // Set by ProfileFetchingService, never stored with a snapshot
+    @Transient
+    private FetchOutcome outcome;
 
     public Platforms() {
         
@@ -71,4 +76,20 @@ public abstract class Platforms {
     public void setContestHistory(List<UserContestHistory> contestHistory) {
         this.contestHistory = contestHistory;
     }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
+    public FetchOutcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(FetchOutcome outcome) {
+        this.outcome = outcome;
+    }
 }
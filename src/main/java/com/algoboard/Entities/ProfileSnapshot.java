@@ -0,0 +1,70 @@
+package com.algoboard.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+// Last successfully fetched profile of a handle on one platform, served
+// (flagged stale) while that platform is failing
+@Document(collection = "profile_snapshots")
+public class ProfileSnapshot {
+    @Id
+    private String id;
+    private String platform;
+    private String handle;
+    private Platforms profile;
+    private LocalDateTime fetchedAt;
+
+    public ProfileSnapshot(String id, String platform, String handle, Platforms profile, LocalDateTime fetchedAt) {
+        this.id = id;
+        this.platform = platform;
+        this.handle = handle;
+        this.profile = profile;
+        this.fetchedAt = fetchedAt;
+    }
+
+    // Default constructor
+    public ProfileSnapshot() {
+
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPlatform() {
+        return platform;
+    }
+
+    public void setPlatform(String platform) {
+        this.platform = platform;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    public Platforms getProfile() {
+        return profile;
+    }
+
+    public void setProfile(Platforms profile) {
+        this.profile = profile;
+    }
+
+    public LocalDateTime getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(LocalDateTime fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+}
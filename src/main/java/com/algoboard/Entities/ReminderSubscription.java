@@ -0,0 +1,74 @@
+package com.algoboard.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+// A user's wish to be emailed offsetMinutes before every contest on one
+// platform. One per (user, platform), id is "username:platform". Reminder
+// waves are read through the (platform, offsetMinutes) index.
+@Document(collection = "reminder_subscriptions")
+@CompoundIndex(name = "platform_offset", def = "{'platform': 1, 'offsetMinutes': 1}")
+public class ReminderSubscription {
+    @Id
+    private String id;
+    private String username;
+    private String platform;
+    private int offsetMinutes;
+    private LocalDateTime createdAt;
+
+    public ReminderSubscription(String id, String username, String platform, int offsetMinutes,
+            LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.platform = platform;
+        this.offsetMinutes = offsetMinutes;
+        this.createdAt = createdAt;
+    }
+
+    // Default constructor
+    public ReminderSubscription() {
+
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPlatform() {
+        return platform;
+    }
+
+    public void setPlatform(String platform) {
+        this.platform = platform;
+    }
+
+    public int getOffsetMinutes() {
+        return offsetMinutes;
+    }
+
+    public void setOffsetMinutes(int offsetMinutes) {
+        this.offsetMinutes = offsetMinutes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.algoboard.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import com.algoboard.entities.ActivityCalendar;
+
+public interface ActivityCalendarRepository extends MongoRepository<ActivityCalendar, String> {
+}
@@ -0,0 +1,7 @@
+package com.algoboard.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import com.algoboard.entities.CodeforcesRatingHistory;
+
+public interface CodeforcesRatingHistoryRepository extends MongoRepository<CodeforcesRatingHistory, String> {
+}
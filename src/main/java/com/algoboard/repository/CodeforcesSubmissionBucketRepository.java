@@ -0,0 +1,15 @@
+package com.algoboard.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import com.algoboard.entities.CodeforcesSubmissionBucket;
+import java.util.List;
+
+public interface CodeforcesSubmissionBucketRepository extends MongoRepository<CodeforcesSubmissionBucket, String> {
+    // Inclusive month range, served by the handle_month index
+    @Query(value = "{ 'handle': ?0, 'month': { $gte: ?1, $lte: ?2 } }", sort = "{ 'month': 1 }")
+    List<CodeforcesSubmissionBucket> findByHandleAndMonthRange(String handle, int fromMonth, int toMonth);
+
+    @Query(value = "{ 'handle': ?0 }", sort = "{ 'month': 1 }")
+    List<CodeforcesSubmissionBucket> findByHandle(String handle);
+}
@@ -0,0 +1,7 @@
+package com.algoboard.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import com.algoboard.entities.ProfileSnapshot;
+
+public interface ProfileSnapshotRepository extends MongoRepository<ProfileSnapshot, String> {
+}
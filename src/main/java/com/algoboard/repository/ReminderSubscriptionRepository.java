@@ -0,0 +1,12 @@
+package com.algoboard.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import com.algoboard.entities.ReminderSubscription;
+import java.util.List;
+
+public interface ReminderSubscriptionRepository extends MongoRepository<ReminderSubscription, String> {
+    List<ReminderSubscription> findByUsername(String username);
+
+    // Everyone in one reminder wave, served by the platform_offset index
+    List<ReminderSubscription> findByPlatformAndOffsetMinutes(String platform, int offsetMinutes);
+}
@@ -0,0 +1,225 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.ActivityDTO;
+import com.algoboard.entities.ActivityCalendar;
+import com.algoboard.entities.CodeforcesSubmissionBucket;
+import com.algoboard.repository.ActivityCalendarRepository;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-handle daily submission counters backing the activity heatmap and
+ * streaks. The profile fetchers push new submissions in as they see them, so
+ * reads are a scan over a few int arrays instead of over submission lists.
+ * Days are UTC days on every platform: LeetCode only reports per-UTC-day
+ * totals, and the calendars are summed day by day.
+ */
+@Service
+public class ActivityCalendarService {
+    public static final String CODEFORCES = "codeforces";
+    public static final String LEETCODE = "leetcode";
+    private static final ZoneOffset DAY_ZONE = ZoneOffset.UTC;
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private final ActivityCalendarRepository activityCalendarRepository;
+    private final CodeforcesSubmissionArchive submissionArchive;
+    // Striped locks so concurrent updates of one calendar do not overwrite each other
+    private final Object[] locks = new Object[64];
+
+    public ActivityCalendarService(ActivityCalendarRepository activityCalendarRepository,
+            CodeforcesSubmissionArchive submissionArchive) {
+        this.activityCalendarRepository = activityCalendarRepository;
+        this.submissionArchive = submissionArchive;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // Counts newly judged Codeforces submissions, ones already counted are skipped by id
+    public void recordCodeforcesSubmissions(String handle, List<CodeforcesSubmissionBucket.Entry> submissions) {
+        String key = handle.toLowerCase();
+        String id = calendarId(CODEFORCES, key);
+        synchronized (lockFor(id)) {
+            ActivityCalendar calendar = activityCalendarRepository.findById(id).orElse(null);
+            if (calendar == null || !DAY_ZONE.getId().equals(calendar.getDayZone())) {
+                // First calendar for this handle, or one counted in IST days: seed it from everything archived so far
+                calendar = new ActivityCalendar(id, CODEFORCES, key, 0, new int[0], 0, null);
+                calendar.setDayZone(DAY_ZONE.getId());
+                submissions = submissionArchive.findSubmissions(key);
+            }
+            List<CodeforcesSubmissionBucket.Entry> fresh = new ArrayList<>();
+            for (CodeforcesSubmissionBucket.Entry submission : submissions) {
+                if (submission.getId() > calendar.getLastSubmissionId()) {
+                    fresh.add(submission);
+                }
+            }
+            if (fresh.isEmpty() && calendar.getUpdatedAt() != null) {
+                return;
+            }
+
+            long minDay = Long.MAX_VALUE;
+            long maxDay = Long.MIN_VALUE;
+            long newestId = calendar.getLastSubmissionId();
+            for (CodeforcesSubmissionBucket.Entry submission : fresh) {
+                long day = utcDay(submission.getTime());
+                minDay = Math.min(minDay, day);
+                maxDay = Math.max(maxDay, day);
+                newestId = Math.max(newestId, submission.getId());
+            }
+            if (!fresh.isEmpty()) {
+                cover(calendar, minDay, maxDay);
+                int[] counts = calendar.getCounts();
+                for (CodeforcesSubmissionBucket.Entry submission : fresh) {
+                    counts[(int) (utcDay(submission.getTime()) - calendar.getFirstDay())]++;
+                }
+            }
+            calendar.setLastSubmissionId(newestId);
+            calendar.setUpdatedAt(LocalDateTime.now());
+            activityCalendarRepository.save(calendar);
+        }
+    }
+
+    // LeetCode reports absolute per-day totals keyed by the UTC midnight epoch second
+    public void recordLeetcodeCalendar(String handle, Map<String, Integer> submissionCalendar) {
+        if (submissionCalendar == null || submissionCalendar.isEmpty()) {
+            return;
+        }
+        String key = handle.toLowerCase();
+        String id = calendarId(LEETCODE, key);
+        long[] days = new long[submissionCalendar.size()];
+        int[] totals = new int[submissionCalendar.size()];
+        int size = 0;
+        long minDay = Long.MAX_VALUE;
+        long maxDay = Long.MIN_VALUE;
+        for (Map.Entry<String, Integer> entry : submissionCalendar.entrySet()) {
+            try {
+                days[size] = Math.floorDiv(Long.parseLong(entry.getKey()), SECONDS_PER_DAY);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            totals[size] = entry.getValue() == null ? 0 : entry.getValue();
+            minDay = Math.min(minDay, days[size]);
+            maxDay = Math.max(maxDay, days[size]);
+            size++;
+        }
+        if (size == 0) {
+            return;
+        }
+
+        synchronized (lockFor(id)) {
+            ActivityCalendar calendar = activityCalendarRepository.findById(id)
+                    .orElse(new ActivityCalendar(id, LEETCODE, key, 0, new int[0], 0, null));
+            calendar.setDayZone(DAY_ZONE.getId());
+            cover(calendar, minDay, maxDay);
+            int[] counts = calendar.getCounts();
+            for (int i = 0; i < size; i++) {
+                counts[(int) (days[i] - calendar.getFirstDay())] = totals[i];
+            }
+            calendar.setUpdatedAt(LocalDateTime.now());
+            activityCalendarRepository.save(calendar);
+        }
+    }
+
+    /**
+     * Combined heatmap of the given handles (platform to handle) over the last
+     * days, together with the streaks computed over the whole history. The
+     * current streak still counts if nothing was submitted yet today (UTC).
+     */
+    public ActivityDTO getActivity(Map<String, String> handlesByPlatform, int days) {
+        long today = LocalDate.now(DAY_ZONE).toEpochDay();
+        List<ActivityCalendar> calendars = new ArrayList<>();
+        long firstDay = today - days + 1;
+        for (Map.Entry<String, String> handle : handlesByPlatform.entrySet()) {
+            if (handle.getValue() == null || handle.getValue().isEmpty()) {
+                continue;
+            }
+            activityCalendarRepository.findById(calendarId(handle.getKey(), handle.getValue().toLowerCase()))
+                    .ifPresent(calendars::add);
+        }
+        for (ActivityCalendar calendar : calendars) {
+            if (calendar.getCounts().length > 0) {
+                firstDay = Math.min(firstDay, calendar.getFirstDay());
+            }
+        }
+
+        // Sum every platform into one array from the earliest known day up to today
+        int[] merged = new int[(int) (today - firstDay + 1)];
+        for (ActivityCalendar calendar : calendars) {
+            int[] counts = calendar.getCounts();
+            for (int i = 0; i < counts.length; i++) {
+                long day = calendar.getFirstDay() + i;
+                if (day >= firstDay && day <= today) {
+                    merged[(int) (day - firstDay)] += counts[i];
+                }
+            }
+        }
+
+        long longestStreak = 0;
+        long run = 0;
+        for (int count : merged) {
+            run = count > 0 ? run + 1 : 0;
+            longestStreak = Math.max(longestStreak, run);
+        }
+        long currentStreak = 0;
+        int last = merged.length - 1;
+        if (merged[last] == 0) {
+            last--;
+        }
+        for (int i = last; i >= 0 && merged[i] > 0; i--) {
+            currentStreak++;
+        }
+
+        int windowStart = merged.length - days;
+        long totalSubmissions = 0;
+        long activeDays = 0;
+        int[] window = new int[days];
+        for (int i = 0; i < days; i++) {
+            window[i] = merged[windowStart + i];
+            totalSubmissions += window[i];
+            if (window[i] > 0) {
+                activeDays++;
+            }
+        }
+        return new ActivityDTO(LocalDate.ofEpochDay(today - days + 1), window, totalSubmissions, activeDays,
+                currentStreak, longestStreak);
+    }
+
+    // Grows the counts array so that it spans [fromDay, toDay]
+    private static void cover(ActivityCalendar calendar, long fromDay, long toDay) {
+        int[] counts = calendar.getCounts();
+        if (counts == null || counts.length == 0) {
+            calendar.setFirstDay(fromDay);
+            calendar.setCounts(new int[(int) (toDay - fromDay + 1)]);
+            return;
+        }
+        long firstDay = Math.min(calendar.getFirstDay(), fromDay);
+        long lastDay = Math.max(calendar.getFirstDay() + counts.length - 1, toDay);
+        if (firstDay == calendar.getFirstDay() && lastDay == calendar.getFirstDay() + counts.length - 1) {
+            return;
+        }
+        int[] grown = new int[(int) (lastDay - firstDay + 1)];
+        System.arraycopy(counts, 0, grown, (int) (calendar.getFirstDay() - firstDay), counts.length);
+        calendar.setFirstDay(firstDay);
+        calendar.setCounts(grown);
+    }
+
+    private static long utcDay(long epochSeconds) {
+        return Instant.ofEpochSecond(epochSeconds).atZone(DAY_ZONE).toLocalDate().toEpochDay();
+    }
+
+    private static String calendarId(String platform, String handle) {
+        return platform + ":" + handle;
+    }
+
+    private Object lockFor(String id) {
+        return locks[Math.floorMod(id.hashCode(), locks.length)];
+    }
+}
@@ -1,92 +1,76 @@
 package com.algoboard.services;
 
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
+// Explicit invalidation of the profile caches; expiry and refresh are per
+// entry, see ProfileCacheService. Profile caches are keyed by platform handle,
+// the username -> handle mapping lives in HandleDirectory.
 @Service
 public class CacheService {
 
     private final CacheManager cacheManager;
+    private final HandleDirectory handleDirectory;
 
-    public CacheService(CacheManager cacheManager) {
+    public CacheService(CacheManager cacheManager, HandleDirectory handleDirectory) {
         this.cacheManager = cacheManager;
+        this.handleDirectory = handleDirectory;
     }
 
-    // Automatically refresh contest list cache every 30 minutes
-    @CacheEvict(value = "contestList", allEntries = true)
-    @Scheduled(fixedRate = 1800000) // 30 minutes in milliseconds
-    public void refreshContestListCache() {
-        // Cache will be automatically refreshed on next access
-    }
-
-    // Automatically refresh LeetCode profile cache every 1 hour
-    @CacheEvict(value = "leetcodeProfile", allEntries = true)
-    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    public void refreshLeetcodeProfileCache() {
-        // Cache will be automatically refreshed on next access
-    }
-
-    // Automatically refresh Codeforces profile cache every 1 hour
-    @CacheEvict(value = "codeforcesProfile", allEntries = true)
-    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    public void refreshCodeforcesProfileCache() {
-        // Cache will be automatically refreshed on next access
-    }
-
-    // Automatically refresh AtCoder profile cache every 1 hour
-    @CacheEvict(value = "atcoderProfile", allEntries = true)
-    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    public void refreshAtcoderProfileCache() {
-        // Cache will be automatically refreshed on next access
-    }
-
-    // Automatically refresh CodeChef profile cache every 1 hour
-    @CacheEvict(value = "codechefProfile", allEntries = true)
-    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    public void refreshCodechefProfileCache() {
-        // Cache will be automatically refreshed on next access
-    }
-
-    // Selective cache eviction methods for individual users
-    public void evictCodeforcesCache(String key) {
+    // Selective cache eviction methods for individual handles
+    public void evictCodeforcesCache(String handle) {
         if (cacheManager.getCache("codeforcesProfile") != null) {
-            cacheManager.getCache("codeforcesProfile").evict(key);
+            cacheManager.getCache("codeforcesProfile").evict(HandleDirectory.key(handle));
         }
     }
 
-    public void evictAtcoderCache(String key) {
+    public void evictAtcoderCache(String handle) {
         if (cacheManager.getCache("atcoderProfile") != null) {
-            cacheManager.getCache("atcoderProfile").evict(key);
+            cacheManager.getCache("atcoderProfile").evict(HandleDirectory.key(handle));
         }
     }
 
-    public void evictLeetcodeCache(String key) {
+    public void evictLeetcodeCache(String handle) {
         if (cacheManager.getCache("leetcodeProfile") != null) {
-            cacheManager.getCache("leetcodeProfile").evict(key);
+            cacheManager.getCache("leetcodeProfile").evict(HandleDirectory.key(handle));
         }
     }
 
-    public void evictCodechefCache(String key) {
+    public void evictCodechefCache(String handle) {
         if (cacheManager.getCache("codechefProfile") != null) {
-            cacheManager.getCache("codechefProfile").evict(key);
+            cacheManager.getCache("codechefProfile").evict(HandleDirectory.key(handle));
         }
     }
 
-    // Utility method to clear all profile caches for a user
-    public void evictAllProfileCaches(String key) {
-        evictCodeforcesCache(key);
-        evictAtcoderCache(key);
-        evictLeetcodeCache(key);
-        evictCodechefCache(key);
+    // Forget which handles a user has linked, e.g. after they change one
+    public void evictUserHandles(String username) {
+        if (cacheManager.getCache(HandleDirectory.CACHE_NAME) != null) {
+            cacheManager.getCache(HandleDirectory.CACHE_NAME).evict(username);
+        }
+    }
+
+    // Utility method to clear every cached profile of a user's linked handles
+    public void evictAllProfileCaches(String username) {
+        Map<String, String> handles = handleDirectory.getHandles(username);
+        if (handles.containsKey(PlatformCircuitBreakers.CODEFORCES)) {
+            evictCodeforcesCache(handles.get(PlatformCircuitBreakers.CODEFORCES));
+        }
+        if (handles.containsKey(PlatformCircuitBreakers.ATCODER)) {
+            evictAtcoderCache(handles.get(PlatformCircuitBreakers.ATCODER));
+        }
+        if (handles.containsKey(PlatformCircuitBreakers.LEETCODE)) {
+            evictLeetcodeCache(handles.get(PlatformCircuitBreakers.LEETCODE));
+        }
+        if (handles.containsKey(PlatformCircuitBreakers.CODECHEF)) {
+            evictCodechefCache(handles.get(PlatformCircuitBreakers.CODECHEF));
+        }
+        evictUserHandles(username);
     }
 
     // Utility method to clear all caches
     public void evictAllCaches() {
-        if (cacheManager.getCache("contestList") != null) {
-            cacheManager.getCache("contestList").clear();
-        }
         if (cacheManager.getCache("codeforcesProfile") != null) {
             cacheManager.getCache("codeforcesProfile").clear();
         }
@@ -99,5 +83,8 @@ public class CacheService {
         if (cacheManager.getCache("leetcodeProfile") != null) {
             cacheManager.getCache("leetcodeProfile").clear();
         }
+        if (cacheManager.getCache(HandleDirectory.CACHE_NAME) != null) {
+            cacheManager.getCache(HandleDirectory.CACHE_NAME).clear();
+        }
     }
 }
@@ -0,0 +1,80 @@
+package com.algoboard.services;
+
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Single entry point for every Codeforces API call so that all of them share
+ * the app-wide rate limiter. A "Call limit exceeded" answer empties the
+ * bucket and the call is retried instead of surfacing as an empty profile.
+ */
+@Component
+public class CodeforcesApiClient {
+    // Longest a call queues for the limiter; callers waiting on a call must allow this plus the request itself
+    private static final long INTERACTIVE_WAIT_MILLIS = 5000;
+    private static final long BACKGROUND_WAIT_MILLIS = 300000;
+    private static final int MAX_THROTTLE_RETRIES = 2;
+
+    private final RestTemplate restTemplate;
+    private final CodeforcesRateLimiter rateLimiter;
+
+    public CodeforcesApiClient(RestTemplate restTemplate, CodeforcesRateLimiter rateLimiter) {
+        this.restTemplate = restTemplate;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public <T> T get(String url, Class<T> responseType, Priority priority) {
+        return call(url, priority, () -> restTemplate.getForObject(url, responseType));
+    }
+
+    // Hands the raw response body to the extractor, used for streaming parses
+    public <T> T execute(String url, ResponseExtractor<T> extractor, Priority priority) {
+        return call(url, priority, () -> restTemplate.execute(url, HttpMethod.GET, null, extractor));
+    }
+
+    private <T> T call(String url, Priority priority, Supplier<T> request) {
+        for (int attempt = 0;; attempt++) {
+            acquire(priority);
+            try {
+                return request.get();
+            } catch (HttpStatusCodeException e) {
+                if (!isCallLimitExceeded(e)) {
+                    throw e;
+                }
+                if (attempt >= MAX_THROTTLE_RETRIES) {
+                    throw new RateLimitedException("Codeforces call limit exceeded for " + url, e);
+                }
+                rateLimiter.penalize();
+                System.out.println("Codeforces call limit exceeded, retrying " + url);
+            }
+        }
+    }
+
+    // How long a call in the lane may queue before failing with RateLimitedException
+    public static long limiterWaitMillis(Priority priority) {
+        return priority == Priority.INTERACTIVE ? INTERACTIVE_WAIT_MILLIS : BACKGROUND_WAIT_MILLIS;
+    }
+
+    private void acquire(Priority priority) {
+        try {
+            if (!rateLimiter.acquire(priority, limiterWaitMillis(priority))) {
+                throw new RateLimitedException("Timed out waiting for the Codeforces rate limiter");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the Codeforces rate limiter", e);
+        }
+    }
+
+    private static boolean isCallLimitExceeded(HttpStatusCodeException e) {
+        int status = e.getStatusCode().value();
+        return (status == 503 || status == 429) && e.getResponseBodyAsString().contains("Call limit exceeded");
+    }
+}
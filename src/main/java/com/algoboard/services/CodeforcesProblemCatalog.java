@@ -0,0 +1,220 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.Codeforces.CF_ProblemsetDTO;
+import com.algoboard.utils.SolvedProblemSet;
+
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory index of the Codeforces problemset, refreshed daily from
+ * problemset.problems. Problems are stored as columns sorted by packed
+ * problem key: the rating and a bitmask over the tag dictionary. A user's
+ * histogram is then a single merge pass over their sorted solved keys.
+ */
+@Service
+public class CodeforcesProblemCatalog implements IMetricsProvider {
+    private static final String UNRATED = "unrated";
+
+    private final CodeforcesApiClient codeforcesApiClient;
+    private volatile Snapshot snapshot;
+
+    public CodeforcesProblemCatalog(CodeforcesApiClient codeforcesApiClient) {
+        this.codeforcesApiClient = codeforcesApiClient;
+    }
+
+    // Solved problem counts by rating band and by tag
+    public static class Histogram {
+        private final Map<String, Long> byRating;
+        private final Map<String, Long> byTag;
+
+        public Histogram(Map<String, Long> byRating, Map<String, Long> byTag) {
+            this.byRating = byRating;
+            this.byTag = byTag;
+        }
+
+        public Map<String, Long> getByRating() {
+            return byRating;
+        }
+
+        public Map<String, Long> getByTag() {
+            return byTag;
+        }
+    }
+
+    private static final class Snapshot {
+        private final long[] keys;
+        // 0 when the problem has no rating yet
+        private final int[] ratings;
+        private final long[] tagMasks;
+        private final String[] tags;
+        private final LocalDateTime loadedAt;
+
+        private Snapshot(long[] keys, int[] ratings, long[] tagMasks, String[] tags) {
+            this.keys = keys;
+            this.ratings = ratings;
+            this.tagMasks = tagMasks;
+            this.tags = tags;
+            this.loadedAt = LocalDateTime.now();
+        }
+    }
+
+    // Refresh the catalog once a day, the first run happens at startup
+    @Scheduled(fixedRate = 86400000)
+    public void refresh() {
+        try {
+            String url = "https://codeforces.com/api/problemset.problems";
+            CF_ProblemsetDTO response = codeforcesApiClient.get(url, CF_ProblemsetDTO.class, Priority.BACKGROUND);
+            if (response == null || !"OK".equals(response.getStatus()) || response.getResult() == null
+                    || response.getResult().getProblems() == null) {
+                System.out.println("Codeforces problemset refresh failed, keeping the previous catalog");
+                return;
+            }
+            snapshot = build(response.getResult().getProblems());
+            System.out.println("Loaded " + snapshot.keys.length + " Codeforces problems into the catalog");
+        } catch (Exception e) {
+            System.out.println("Codeforces problemset refresh failed: " + e.getMessage());
+        }
+    }
+
+    // Returns null until the catalog has been loaded
+    public Histogram histogram(long[] sortedSolvedKeys) {
+        Snapshot current = snapshot;
+        if (current == null || sortedSolvedKeys == null) {
+            return null;
+        }
+        long[] ratingCounts = new long[36];
+        long unrated = 0;
+        long[] tagCounts = new long[current.tags.length];
+
+        // Both key arrays are sorted, so one merge pass finds every solved problem
+        int i = 0;
+        int j = 0;
+        while (i < sortedSolvedKeys.length) {
+            long key = sortedSolvedKeys[i];
+            while (j < current.keys.length && current.keys[j] < key) {
+                j++;
+            }
+            if (j < current.keys.length && current.keys[j] == key) {
+                int rating = current.ratings[j];
+                if (rating > 0) {
+                    ratingCounts[Math.min(rating / 100, ratingCounts.length - 1)]++;
+                } else {
+                    unrated++;
+                }
+                long mask = current.tagMasks[j];
+                while (mask != 0) {
+                    tagCounts[Long.numberOfTrailingZeros(mask)]++;
+                    mask &= mask - 1;
+                }
+            } else {
+                // Gym or removed problems are not in the problemset
+                unrated++;
+            }
+            i++;
+        }
+
+        Map<String, Long> byRating = new LinkedHashMap<>();
+        for (int band = 0; band < ratingCounts.length; band++) {
+            if (ratingCounts[band] > 0) {
+                byRating.put(Integer.toString(band * 100), ratingCounts[band]);
+            }
+        }
+        if (unrated > 0) {
+            byRating.put(UNRATED, unrated);
+        }
+        List<Integer> tagOrder = new ArrayList<>();
+        for (int tag = 0; tag < tagCounts.length; tag++) {
+            if (tagCounts[tag] > 0) {
+                tagOrder.add(tag);
+            }
+        }
+        tagOrder.sort(Comparator.comparingLong((Integer tag) -> tagCounts[tag]).reversed());
+        Map<String, Long> byTag = new LinkedHashMap<>();
+        for (int tag : tagOrder) {
+            byTag.put(current.tags[tag], tagCounts[tag]);
+        }
+        return new Histogram(byRating, byTag);
+    }
+
+    private static Snapshot build(List<CF_ProblemsetDTO.Problem> problems) {
+        // Tag dictionary in order of first appearance, one bit per tag
+        Map<String, Integer> tagBits = new HashMap<>();
+        List<String> tags = new ArrayList<>();
+        long[] keys = new long[problems.size()];
+        int[] ratings = new int[problems.size()];
+        long[] masks = new long[problems.size()];
+        int count = 0;
+        for (CF_ProblemsetDTO.Problem problem : problems) {
+            if (problem.getContestId() == null || problem.getIndex() == null) {
+                continue;
+            }
+            long mask = 0;
+            if (problem.getTags() != null) {
+                for (String tag : problem.getTags()) {
+                    Integer bit = tagBits.get(tag);
+                    if (bit == null && tags.size() < Long.SIZE) {
+                        bit = tags.size();
+                        tagBits.put(tag, bit);
+                        tags.add(tag);
+                    }
+                    if (bit != null) {
+                        mask |= 1L << bit;
+                    }
+                }
+            }
+            keys[count] = SolvedProblemSet.pack(problem.getContestId(), problem.getIndex());
+            ratings[count] = problem.getRating() == null ? 0 : problem.getRating();
+            masks[count] = mask;
+            count++;
+        }
+
+        // Sort the columns by key
+        Integer[] order = new Integer[count];
+        for (int row = 0; row < count; row++) {
+            order[row] = row;
+        }
+        Arrays.sort(order, Comparator.comparingLong(row -> keys[row]));
+        long[] sortedKeys = new long[count];
+        int[] sortedRatings = new int[count];
+        long[] sortedMasks = new long[count];
+        int size = 0;
+        for (int row : order) {
+            if (size > 0 && sortedKeys[size - 1] == keys[row]) {
+                continue;
+            }
+            sortedKeys[size] = keys[row];
+            sortedRatings[size] = ratings[row];
+            sortedMasks[size] = masks[row];
+            size++;
+        }
+        return new Snapshot(Arrays.copyOf(sortedKeys, size), Arrays.copyOf(sortedRatings, size),
+                Arrays.copyOf(sortedMasks, size), tags.toArray(new String[0]));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "codeforcesProblemCatalog";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Snapshot current = snapshot;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("problems", current == null ? 0 : current.keys.length);
+        metrics.put("tags", current == null ? 0 : current.tags.length);
+        metrics.put("loadedAt", current == null ? null : current.loadedAt.toString());
+        return metrics;
+    }
+}
@@ -0,0 +1,153 @@
+package com.algoboard.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * App-wide token bucket for Codeforces API calls. Callers queue in one of two
+ * lanes and interactive callers are always served before background ones;
+ * within a lane the order is first come, first served.
+ */
+@Component
+public class CodeforcesRateLimiter implements IMetricsProvider {
+
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private final long refillIntervalNanos;
+    private final int burst;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition changed = lock.newCondition();
+    private final Deque<Object> interactiveQueue = new ArrayDeque<>();
+    private final Deque<Object> backgroundQueue = new ArrayDeque<>();
+    private double tokens;
+    private long lastRefill;
+
+    // Metrics, guarded by lock
+    private final long[] granted = new long[Priority.values().length];
+    private final long[] timedOut = new long[Priority.values().length];
+    private final long[] totalWaitNanos = new long[Priority.values().length];
+    private final long[] maxWaitNanos = new long[Priority.values().length];
+    private long throttledResponses;
+
+    public CodeforcesRateLimiter(
+            @Value("${app.codeforces.rate-limit.interval-ms:2000}") long refillIntervalMillis,
+            @Value("${app.codeforces.rate-limit.burst:1}") int burst) {
+        this.refillIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refillIntervalMillis);
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    // Blocks until a call may be made, returns false if the timeout expires first
+    public boolean acquire(Priority priority, long timeoutMillis) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Deque<Object> queue = priority == Priority.INTERACTIVE ? interactiveQueue : backgroundQueue;
+        Object ticket = new Object();
+        lock.lock();
+        try {
+            queue.addLast(ticket);
+            try {
+                while (true) {
+                    refill();
+                    if (isNext(ticket) && tokens >= 1) {
+                        tokens -= 1;
+                        recordGrant(priority, System.nanoTime() - start);
+                        return true;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timedOut[priority.ordinal()]++;
+                        return false;
+                    }
+                    long untilNextToken = tokens >= 1 ? remaining : nanosUntilNextToken();
+                    changed.awaitNanos(Math.min(remaining, untilNextToken));
+                }
+            } finally {
+                queue.remove(ticket);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called when Codeforces still answered "Call limit exceeded": empty the bucket
+    public void penalize() {
+        lock.lock();
+        try {
+            tokens = 0;
+            lastRefill = System.nanoTime();
+            throttledResponses++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isNext(Object ticket) {
+        if (!interactiveQueue.isEmpty()) {
+            return interactiveQueue.peekFirst() == ticket;
+        }
+        return backgroundQueue.peekFirst() == ticket;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (double) (now - lastRefill) / refillIntervalNanos);
+        lastRefill = now;
+    }
+
+    private long nanosUntilNextToken() {
+        return Math.max(1, (long) ((1 - tokens) * refillIntervalNanos));
+    }
+
+    private void recordGrant(Priority priority, long waitNanos) {
+        int lane = priority.ordinal();
+        granted[lane]++;
+        totalWaitNanos[lane] += waitNanos;
+        maxWaitNanos[lane] = Math.max(maxWaitNanos[lane], waitNanos);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "codeforcesRateLimiter";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        lock.lock();
+        try {
+            refill();
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("availableTokens", tokens);
+            metrics.put("throttledResponses", throttledResponses);
+            for (Priority priority : Priority.values()) {
+                int lane = priority.ordinal();
+                Map<String, Object> laneMetrics = new LinkedHashMap<>();
+                laneMetrics.put("queueDepth",
+                        priority == Priority.INTERACTIVE ? interactiveQueue.size() : backgroundQueue.size());
+                laneMetrics.put("granted", granted[lane]);
+                laneMetrics.put("timedOut", timedOut[lane]);
+                laneMetrics.put("averageWaitMillis",
+                        granted[lane] == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos[lane] / granted[lane]));
+                laneMetrics.put("maxWaitMillis", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos[lane]));
+                metrics.put(priority.name().toLowerCase(), laneMetrics);
+            }
+            return metrics;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
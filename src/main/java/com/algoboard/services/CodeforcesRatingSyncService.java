@@ -0,0 +1,200 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.Codeforces.CF_ContestHistoryDTO;
+import com.algoboard.DTO.Codeforces.CF_ContestListDTO;
+import com.algoboard.entities.CodeforcesRatingHistory;
+import com.algoboard.entities.UserContestHistory;
+import com.algoboard.repository.CodeforcesRatingHistoryRepository;
+
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every persisted Codeforces rating history current, linked or only
+ * searched. Once a contest is FINISHED its contest.ratingChanges are fetched a
+ * single time and merged into the stored history of each handle that took
+ * part, so profile refreshes no longer need a user.rating call per handle.
+ */
+@Service
+public class CodeforcesRatingSyncService {
+    // Rating changes are usually published a few hours after the contest ends
+    private static final long LOOKBACK_SECONDS = Duration.ofDays(3).getSeconds();
+    // An empty ratingChanges this long after the end means the contest is unrated, not that changes are pending
+    private static final long PUBLISH_GRACE_SECONDS = Duration.ofHours(12).getSeconds();
+    // Full user.rating refetch as a safety net for contests the job missed
+    private static final Duration HISTORY_MAX_AGE = Duration.ofDays(7);
+    // Stored histories are loaded with one findAllById per this many participants
+    private static final int HISTORY_LOAD_BATCH_SIZE = 1000;
+
+    private final CodeforcesApiClient codeforcesApiClient;
+    private final CodeforcesRatingHistoryRepository ratingHistoryRepository;
+    private final CacheService cacheService;
+    // Contests whose rating changes were already applied, or that have none
+    private final Set<Long> appliedContests = ConcurrentHashMap.newKeySet();
+
+    public CodeforcesRatingSyncService(CodeforcesApiClient codeforcesApiClient,
+            CodeforcesRatingHistoryRepository ratingHistoryRepository, CacheService cacheService) {
+        this.codeforcesApiClient = codeforcesApiClient;
+        this.ratingHistoryRepository = ratingHistoryRepository;
+        this.cacheService = cacheService;
+    }
+
+    // Rating history of a handle, newest contest first, or null if Codeforces could not be reached
+    public List<UserContestHistory> getRatingHistory(String handle, Priority priority) {
+        String key = handle.toLowerCase();
+        CodeforcesRatingHistory stored = ratingHistoryRepository.findById(key).orElse(null);
+        if (stored != null && stored.getFetchedAt() != null
+                && stored.getFetchedAt().isAfter(LocalDateTime.now().minus(HISTORY_MAX_AGE))) {
+            return stored.getContestHistory();
+        }
+
+        String url = "https://codeforces.com/api/user.rating?handle=" + handle;
+        CF_ContestHistoryDTO response = codeforcesApiClient.get(url, CF_ContestHistoryDTO.class, priority);
+        if (response == null || !"OK".equals(response.getStatus())) {
+            return null;
+        }
+        List<UserContestHistory> contestHistory = new ArrayList<>();
+        if (response.getResult() != null) {
+            for (CF_ContestHistoryDTO.Result contestResult : response.getResult()) {
+                contestHistory.add(toHistory(contestResult));
+            }
+            // user.rating lists the oldest contest first
+            java.util.Collections.reverse(contestHistory);
+        }
+        ratingHistoryRepository.save(new CodeforcesRatingHistory(key, contestHistory, LocalDateTime.now()));
+        return contestHistory;
+    }
+
+    // Check every 30 minutes for finished contests whose rating changes are out
+    @Scheduled(fixedRate = 1800000)
+    public void applyFinishedContests() {
+        try {
+            String url = "https://codeforces.com/api/contest.list";
+            CF_ContestListDTO response = codeforcesApiClient.get(url, CF_ContestListDTO.class, Priority.BACKGROUND);
+            if (response == null || !"OK".equals(response.getStatus()) || response.getResult() == null) {
+                return;
+            }
+            long now = Instant.now().getEpochSecond();
+            Set<Long> recentContests = new HashSet<>();
+            for (CF_ContestListDTO.CodeforcesContest contest : response.getResult()) {
+                if (!"FINISHED".equals(contest.getPhase()) || contest.getStartTimeSeconds() == null
+                        || contest.getDurationSeconds() == null) {
+                    continue;
+                }
+                long endTime = contest.getStartTimeSeconds() + contest.getDurationSeconds();
+                if (now - endTime > LOOKBACK_SECONDS) {
+                    continue;
+                }
+                recentContests.add(contest.getId());
+                if (appliedContests.contains(contest.getId())) {
+                    continue;
+                }
+                // One contest failing must not hold up the ones after it
+                try {
+                    if (applyRatingChanges(contest.getId(), now - endTime > PUBLISH_GRACE_SECONDS)) {
+                        appliedContests.add(contest.getId());
+                    }
+                } catch (HttpClientErrorException e) {
+                    // Unrated contests and contests without published changes are answered with a 400
+                    System.out.println("No rating changes for Codeforces contest " + contest.getId() + ": "
+                            + e.getMessage());
+                    appliedContests.add(contest.getId());
+                } catch (Exception e) {
+                    System.out.println("Codeforces rating changes of contest " + contest.getId() + " failed: "
+                            + e.getMessage());
+                }
+            }
+            // Contests outside the lookback are never looked at again
+            appliedContests.retainAll(recentContests);
+        } catch (Exception e) {
+            System.out.println("Codeforces rating refresh failed: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Returns false while the contest has no rating changes yet so it is
+     * retried on the next run; an empty answer past the publish grace counts as
+     * done, the contest is unrated.
+     */
+    private boolean applyRatingChanges(long contestId, boolean pastGrace) {
+        String url = "https://codeforces.com/api/contest.ratingChanges?contestId=" + contestId;
+        CF_ContestHistoryDTO response = codeforcesApiClient.get(url, CF_ContestHistoryDTO.class, Priority.BACKGROUND);
+        if (response == null || !"OK".equals(response.getStatus())) {
+            return false;
+        }
+        if (response.getResult() == null || response.getResult().isEmpty()) {
+            return pastGrace;
+        }
+
+        // Changes keyed by lower-cased handle, the id of the stored histories
+        Map<String, CF_ContestHistoryDTO.Result> changes = new HashMap<>();
+        for (CF_ContestHistoryDTO.Result change : response.getResult()) {
+            if (change.getHandle() != null) {
+                changes.put(change.getHandle().toLowerCase(), change);
+            }
+        }
+
+        // Only handles someone has looked at have a stored history; the rest get it from user.rating when needed
+        int updated = 0;
+        List<String> handles = new ArrayList<>(changes.keySet());
+        for (int from = 0; from < handles.size(); from += HISTORY_LOAD_BATCH_SIZE) {
+            List<String> batch = handles.subList(from, Math.min(from + HISTORY_LOAD_BATCH_SIZE, handles.size()));
+            List<CodeforcesRatingHistory> merged = new ArrayList<>();
+            List<String> stored = new ArrayList<>();
+            for (CodeforcesRatingHistory history : ratingHistoryRepository.findAllById(batch)) {
+                if (history.getContestHistory() != null && merge(history, changes.get(history.getHandle()))) {
+                    merged.add(history);
+                }
+                stored.add(history.getHandle());
+            }
+            if (!merged.isEmpty()) {
+                ratingHistoryRepository.saveAll(merged);
+                updated += merged.size();
+            }
+            // The cached profiles still show the old rating; evicting before the save lets a view re-cache it
+            for (String handle : stored) {
+                cacheService.evictCodeforcesCache(handle);
+            }
+        }
+        System.out.println("Applied Codeforces rating changes of contest " + contestId + " to " + updated
+                + " handles");
+        return true;
+    }
+
+    // Adds the contest to the history unless it is already there, so re-applying is harmless
+    private boolean merge(CodeforcesRatingHistory history, CF_ContestHistoryDTO.Result change) {
+        String contestId = Long.toString(change.getContestId());
+        for (UserContestHistory entry : history.getContestHistory()) {
+            if (contestId.equals(entry.getContestId())) {
+                return false;
+            }
+        }
+        List<UserContestHistory> contestHistory = new ArrayList<>(history.getContestHistory());
+        contestHistory.add(0, toHistory(change));
+        history.setContestHistory(contestHistory);
+        return true;
+    }
+
+    private UserContestHistory toHistory(CF_ContestHistoryDTO.Result contestResult) {
+        return new UserContestHistory(
+                Long.toString(contestResult.getContestId()),
+                contestResult.getContestName(),
+                contestResult.getRank(),
+                contestResult.getOldRating(),
+                contestResult.getNewRating());
+    }
+}
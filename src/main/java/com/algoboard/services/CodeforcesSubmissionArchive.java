@@ -0,0 +1,164 @@
+package com.algoboard.services;
+
+import com.algoboard.entities.Codeforces;
+import com.algoboard.entities.CodeforcesSubmissionBucket;
+import com.algoboard.entities.CodeforcesSyncState;
+import com.algoboard.repository.CodeforcesSubmissionBucketRepository;
+import com.algoboard.utils.SolvedProblemSet;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mongo-backed archive of judged Codeforces submissions, one bucket document
+ * per handle per month. Appends replace submissions by id, so re-archiving a
+ * submission after a full re-crawl is harmless, even when a rejudge changed
+ * its verdict in between.
+ */
+@Service
+public class CodeforcesSubmissionArchive {
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final int RECENT_SUBMISSIONS_LIMIT = 10;
+
+    private final CodeforcesSubmissionBucketRepository bucketRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public CodeforcesSubmissionArchive(CodeforcesSubmissionBucketRepository bucketRepository,
+            MongoTemplate mongoTemplate) {
+        this.bucketRepository = bucketRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void append(String handle, List<CodeforcesSubmissionBucket.Entry> entries) {
+        String key = handle.toLowerCase();
+        Map<Integer, List<CodeforcesSubmissionBucket.Entry>> byMonth = new TreeMap<>();
+        for (CodeforcesSubmissionBucket.Entry entry : entries) {
+            byMonth.computeIfAbsent(monthOf(entry.getTime()), k -> new ArrayList<>()).add(entry);
+        }
+        for (Map.Entry<Integer, List<CodeforcesSubmissionBucket.Entry>> bucket : byMonth.entrySet()) {
+            Query query = Query.query(Criteria.where("_id").is(bucketId(key, bucket.getKey())));
+            List<Long> ids = new ArrayList<>(bucket.getValue().size());
+            for (CodeforcesSubmissionBucket.Entry entry : bucket.getValue()) {
+                ids.add(entry.getId());
+            }
+            // $pull and $push cannot touch the same array in one update: drop older copies, then add
+            Update removeOld = new Update()
+                    .setOnInsert("handle", key)
+                    .setOnInsert("month", bucket.getKey())
+                    .pull("submissions", Query.query(Criteria.where("id").in(ids)));
+            mongoTemplate.upsert(query, removeOld, CodeforcesSubmissionBucket.class);
+            mongoTemplate.updateFirst(query, new Update().push("submissions").each(bucket.getValue().toArray()),
+                    CodeforcesSubmissionBucket.class);
+        }
+    }
+
+    // Archived submissions made between the two months (inclusive), oldest first
+    public List<CodeforcesSubmissionBucket.Entry> findSubmissions(String handle, YearMonth from, YearMonth to) {
+        List<CodeforcesSubmissionBucket.Entry> submissions = new ArrayList<>();
+        for (CodeforcesSubmissionBucket bucket : bucketRepository.findByHandleAndMonthRange(handle.toLowerCase(),
+                toMonth(from), toMonth(to))) {
+            submissions.addAll(bucket.getSubmissions());
+        }
+        submissions.sort(Comparator.comparingLong(CodeforcesSubmissionBucket.Entry::getId));
+        return submissions;
+    }
+
+    // Archived submissions from the month of the given time onwards, oldest first
+    public List<CodeforcesSubmissionBucket.Entry> findSubmissionsSince(String handle, long epochSeconds) {
+        List<CodeforcesSubmissionBucket.Entry> submissions = new ArrayList<>();
+        for (CodeforcesSubmissionBucket bucket : bucketRepository.findByHandleAndMonthRange(handle.toLowerCase(),
+                monthOf(epochSeconds), Integer.MAX_VALUE)) {
+            submissions.addAll(bucket.getSubmissions());
+        }
+        submissions.sort(Comparator.comparingLong(CodeforcesSubmissionBucket.Entry::getId));
+        return submissions;
+    }
+
+    // Every archived submission of the handle, oldest first
+    public List<CodeforcesSubmissionBucket.Entry> findSubmissions(String handle) {
+        List<CodeforcesSubmissionBucket.Entry> submissions = new ArrayList<>();
+        for (CodeforcesSubmissionBucket bucket : bucketRepository.findByHandle(handle.toLowerCase())) {
+            submissions.addAll(bucket.getSubmissions());
+        }
+        submissions.sort(Comparator.comparingLong(CodeforcesSubmissionBucket.Entry::getId));
+        return submissions;
+    }
+
+    /**
+     * Recomputes the sync aggregates of a handle from its archive, or returns
+     * null if nothing is archived. Problem names are not archived, so the
+     * rebuilt recent submissions carry none.
+     */
+    public CodeforcesSyncState rebuildState(String handle) {
+        String key = handle.toLowerCase();
+        List<CodeforcesSubmissionBucket.Entry> submissions = new ArrayList<>();
+        for (CodeforcesSubmissionBucket bucket : bucketRepository.findByHandle(key)) {
+            submissions.addAll(bucket.getSubmissions());
+        }
+        if (submissions.isEmpty()) {
+            return null;
+        }
+        submissions.sort(Comparator.comparingLong(CodeforcesSubmissionBucket.Entry::getId).reversed());
+
+        SolvedProblemSet problems = new SolvedProblemSet();
+        SolvedProblemSet acceptedProblems = new SolvedProblemSet();
+        List<Codeforces.Problem> recent = new ArrayList<>();
+        long accepted = 0;
+        for (CodeforcesSubmissionBucket.Entry entry : submissions) {
+            problems.add(entry.getProblemKey());
+            if ("OK".equals(entry.getVerdict())) {
+                accepted++;
+                acceptedProblems.add(entry.getProblemKey());
+            }
+            if (recent.size() < RECENT_SUBMISSIONS_LIMIT) {
+                recent.add(new Codeforces.Problem(
+                        SolvedProblemSet.contestId(entry.getProblemKey()),
+                        SolvedProblemSet.index(entry.getProblemKey()),
+                        null,
+                        entry.getVerdict()));
+            }
+        }
+        CodeforcesSyncState state = new CodeforcesSyncState(key, submissions.get(0).getId(), submissions.size(),
+                accepted, problems.toSortedArray(), recent, null);
+        state.setAcceptedProblemKeys(acceptedProblems.toSortedArray());
+        state.setArchived(true);
+        return state;
+    }
+
+    // Sorted packed keys of every problem the handle has an accepted archived submission for
+    public long[] acceptedProblemKeys(String handle) {
+        SolvedProblemSet acceptedProblems = new SolvedProblemSet();
+        for (CodeforcesSubmissionBucket bucket : bucketRepository.findByHandle(handle.toLowerCase())) {
+            for (CodeforcesSubmissionBucket.Entry entry : bucket.getSubmissions()) {
+                if ("OK".equals(entry.getVerdict())) {
+                    acceptedProblems.add(entry.getProblemKey());
+                }
+            }
+        }
+        return acceptedProblems.toSortedArray();
+    }
+
+    private static int monthOf(long epochSeconds) {
+        return toMonth(YearMonth.from(Instant.ofEpochSecond(epochSeconds).atZone(IST_ZONE)));
+    }
+
+    private static int toMonth(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private static String bucketId(String handle, int month) {
+        return handle + ":" + month;
+    }
+}
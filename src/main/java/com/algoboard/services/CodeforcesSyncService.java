@@ -0,0 +1,290 @@
+package com.algoboard.services;
+
+import com.algoboard.entities.Codeforces;
+import com.algoboard.entities.CodeforcesSubmissionBucket;
+import com.algoboard.entities.CodeforcesSyncState;
+import com.algoboard.repository.CodeforcesSyncStateRepository;
+import com.algoboard.utils.CodeforcesSubmissionParser;
+import com.algoboard.utils.CodeforcesSubmissionParser.PageResult;
+import com.algoboard.utils.CodeforcesSubmissionParser.Submission;
+import com.algoboard.utils.SolvedProblemSet;
+
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
+
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a persisted cursor per Codeforces handle so that a refresh only pulls
+ * the submissions made since the previous sync instead of re-crawling the
+ * whole user.status history. Pages are aggregated straight off the JSON token
+ * stream, no submission DTOs are materialised.
+ */
+@Service
+public class CodeforcesSyncService {
+    private static final int FULL_PAGE_SIZE = 1000;
+    private static final int INCREMENTAL_PAGE_SIZE = 50;
+    private static final int RECENT_SUBMISSIONS_LIMIT = 10;
+    // Submissions still in the judging queue are expected among the newest few only
+    private static final int PENDING_WINDOW = 50;
+    // Older submissions are archived in batches of this size while the crawl is still running
+    private static final int ARCHIVE_BATCH_SIZE = 1000;
+
+    private final CodeforcesSyncStateRepository syncStateRepository;
+    private final CodeforcesApiClient codeforcesApiClient;
+    private final CodeforcesSubmissionArchive submissionArchive;
+    private final ActivityCalendarService activityCalendarService;
+
+    public CodeforcesSyncService(CodeforcesSyncStateRepository syncStateRepository,
+            CodeforcesApiClient codeforcesApiClient, CodeforcesSubmissionArchive submissionArchive,
+            ActivityCalendarService activityCalendarService) {
+        this.syncStateRepository = syncStateRepository;
+        this.codeforcesApiClient = codeforcesApiClient;
+        this.submissionArchive = submissionArchive;
+        this.activityCalendarService = activityCalendarService;
+    }
+
+    /**
+     * Brings the stored aggregates for the handle up to date and returns them.
+     * Submissions that are still being judged are included in the returned
+     * numbers but never persisted, so the cursor only moves past final verdicts.
+     */
+    public CodeforcesSyncState sync(String handle, Priority priority) {
+        String key = handle.toLowerCase();
+        CodeforcesSyncState state = syncStateRepository.findById(key).orElse(null);
+        if (state == null) {
+            // Lost cursor, pick up from the archive instead of re-crawling everything
+            state = rebuildFromArchive(key);
+        }
+        if (state == null || state.getProblemKeys() == null || !state.isArchived()) {
+            // A full crawl also backfills the archive for cursors created before it existed
+            return fullSync(handle, key, priority);
+        }
+        if (state.getAcceptedProblemKeys() == null) {
+            // Cursors created before accepted problems were tracked, the archive has them all
+            state.setAcceptedProblemKeys(submissionArchive.acceptedProblemKeys(key));
+        }
+
+        Collector collector = new Collector(state.getLastSubmissionId(), batch -> submissionArchive.append(key, batch));
+        long from = 1;
+        int count = INCREMENTAL_PAGE_SIZE;
+        while (true) {
+            PageResult page = fetchPage(handle, from, count, collector, priority);
+            if (page == null) {
+                // Upstream failed mid-way, serve what we already have without moving the cursor
+                return state;
+            }
+            if (collector.overlapped || page.getCount() < count) {
+                break;
+            }
+            from += count;
+            count = Math.min(count * 4, FULL_PAGE_SIZE);
+        }
+        return merge(state, collector);
+    }
+
+    private CodeforcesSyncState fullSync(String handle, String key, Priority priority) {
+        Collector collector = new Collector(0, batch -> submissionArchive.append(key, batch));
+        long from = 1;
+        while (true) {
+            PageResult page = fetchPage(handle, from, FULL_PAGE_SIZE, collector, priority);
+            if (page == null) {
+                // Partial crawl: return what we have but do not persist it as a cursor
+                CodeforcesSyncState partial = new CodeforcesSyncState(key);
+                apply(partial, collector.tail);
+                apply(partial, collector.tally(0, collector.head.size()));
+                return partial;
+            }
+            if (page.getCount() < FULL_PAGE_SIZE) {
+                break;
+            }
+            from += FULL_PAGE_SIZE;
+        }
+        return merge(new CodeforcesSyncState(key), collector);
+    }
+
+    // Persists the judged part of the new submissions and layers the pending ones on top
+    private CodeforcesSyncState merge(CodeforcesSyncState state, Collector collector) {
+        List<Submission> head = collector.head;
+        int firstFinal = 0;
+        for (int i = 0; i < head.size(); i++) {
+            if (isPending(head.get(i))) {
+                firstFinal = i + 1;
+            }
+        }
+
+        apply(state, collector.tail);
+        apply(state, collector.tally(firstFinal, head.size()));
+        if (firstFinal < head.size()) {
+            state.setLastSubmissionId(head.get(firstFinal).getId());
+        } else if (collector.tail.total > 0) {
+            state.setLastSubmissionId(collector.tail.newestId);
+        }
+        state.setLastSyncedAt(LocalDateTime.now());
+        try {
+            // Archive and calendar first so the cursor never moves past submissions either of them is missing
+            collector.flushArchive();
+            List<CodeforcesSubmissionBucket.Entry> judged = collector.tally(firstFinal, head.size()).archived;
+            submissionArchive.append(state.getHandle(), judged);
+            if (collector.tail.total > 0) {
+                // The tail only exists in the archive by now, the calendar skips what it already counted by id
+                judged = submissionArchive.findSubmissionsSince(state.getHandle(), collector.tail.oldestTime);
+            }
+            activityCalendarService.recordCodeforcesSubmissions(state.getHandle(), judged);
+            state.setArchived(true);
+            syncStateRepository.save(state);
+        } catch (Exception e) {
+            System.out.println("Failed to persist Codeforces sync state for " + state.getHandle() + ": "
+                    + e.getMessage());
+        }
+
+        if (firstFinal == 0) {
+            return state;
+        }
+        CodeforcesSyncState withPending = new CodeforcesSyncState(state);
+        apply(withPending, collector.tally(0, firstFinal));
+        return withPending;
+    }
+
+    private CodeforcesSyncState rebuildFromArchive(String key) {
+        try {
+            return submissionArchive.rebuildState(key);
+        } catch (Exception e) {
+            System.out.println("Failed to rebuild Codeforces sync state for " + key + " from the archive: "
+                    + e.getMessage());
+            return null;
+        }
+    }
+
+    // Folds a tally of submissions that are newer than everything already in the state
+    private void apply(CodeforcesSyncState state, Tally tally) {
+        // Only the problems new to the state are sorted in, the stored arrays are never rehashed
+        state.setProblemKeys(tally.problems.mergeSorted(state.getProblemKeys()));
+        state.setAcceptedProblemKeys(tally.acceptedProblems.mergeSorted(state.getAcceptedProblemKeys()));
+        List<Codeforces.Problem> recent = new ArrayList<>(tally.recent);
+        for (Codeforces.Problem previous : state.getRecentSubmissions()) {
+            if (recent.size() >= RECENT_SUBMISSIONS_LIMIT) {
+                break;
+            }
+            recent.add(previous);
+        }
+        state.setRecentSubmissions(recent);
+        state.setTotalSubmissions(state.getTotalSubmissions() + tally.total);
+        state.setAcceptedSubmissions(state.getAcceptedSubmissions() + tally.accepted);
+    }
+
+    private PageResult fetchPage(String handle, long from, int count, Collector collector, Priority priority) {
+        String submissionsUrl = "https://codeforces.com/api/user.status?handle=" + handle + "&from=" + from
+                + "&count=" + count;
+        try {
+            PageResult page = codeforcesApiClient.execute(submissionsUrl,
+                    response -> CodeforcesSubmissionParser.parse(response.getBody(), collector), priority);
+            if (page == null || !page.isOk()) {
+                return null;
+            }
+            return page;
+        } catch (Exception e) {
+            System.out.println("Codeforces user.status error for " + handle + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isPending(Submission submission) {
+        return submission.getVerdict() == null || submission.getVerdict().equals("TESTING");
+    }
+
+    // Running counters over a newest-first run of submissions
+    private static final class Tally {
+        private long newestId;
+        private long total;
+        private long accepted;
+        private long oldestTime = Long.MAX_VALUE;
+        private final SolvedProblemSet problems = new SolvedProblemSet();
+        private final SolvedProblemSet acceptedProblems = new SolvedProblemSet();
+        private final List<Codeforces.Problem> recent = new ArrayList<>();
+        private final List<CodeforcesSubmissionBucket.Entry> archived = new ArrayList<>();
+
+        private void add(Submission submission) {
+            if (total == 0) {
+                newestId = submission.getId();
+            }
+            total++;
+            oldestTime = Math.min(oldestTime, submission.getCreationTimeSeconds());
+            long problemKey = SolvedProblemSet.pack(submission.getContestId(), submission.getIndex());
+            if ("OK".equals(submission.getVerdict())) {
+                accepted++;
+                acceptedProblems.add(problemKey);
+            }
+            problems.add(problemKey);
+            archived.add(new CodeforcesSubmissionBucket.Entry(
+                    submission.getId(),
+                    submission.getCreationTimeSeconds(),
+                    problemKey,
+                    submission.getVerdict()));
+            if (recent.size() < RECENT_SUBMISSIONS_LIMIT) {
+                recent.add(new Codeforces.Problem(
+                        submission.getContestId(),
+                        submission.getIndex(),
+                        submission.getName(),
+                        submission.getVerdict()));
+            }
+        }
+    }
+
+    /**
+     * Streams submissions newer than the cursor. The newest ones are kept as
+     * detached copies so the pending/judged split can be made once the whole
+     * run is known; everything older is folded straight into a tally and
+     * handed to the archive ARCHIVE_BATCH_SIZE entries at a time, so a full
+     * crawl never holds more than one batch of archive entries.
+     */
+    private static final class Collector implements CodeforcesSubmissionParser.Visitor {
+        private final long cursor;
+        private final Consumer<List<CodeforcesSubmissionBucket.Entry>> archiveSink;
+        private final List<Submission> head = new ArrayList<>();
+        private final Tally tail = new Tally();
+        private boolean overlapped;
+
+        private Collector(long cursor, Consumer<List<CodeforcesSubmissionBucket.Entry>> archiveSink) {
+            this.cursor = cursor;
+            this.archiveSink = archiveSink;
+        }
+
+        @Override
+        public boolean visit(Submission submission) {
+            if (submission.getId() <= cursor) {
+                overlapped = true;
+                return false;
+            }
+            if (head.size() < PENDING_WINDOW) {
+                head.add(submission.copy());
+            } else {
+                tail.add(submission);
+                if (tail.archived.size() >= ARCHIVE_BATCH_SIZE) {
+                    flushArchive();
+                }
+            }
+            return true;
+        }
+
+        // Appends are idempotent, so batches written by a crawl that fails later do no harm
+        private void flushArchive() {
+            if (!tail.archived.isEmpty()) {
+                archiveSink.accept(tail.archived);
+                tail.archived.clear();
+            }
+        }
+
+        private Tally tally(int fromIndex, int toIndex) {
+            Tally tally = new Tally();
+            for (Submission submission : head.subList(fromIndex, toIndex)) {
+                tally.add(submission);
+            }
+            return tally;
+        }
+    }
+}
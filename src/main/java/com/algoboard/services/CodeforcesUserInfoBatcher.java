@@ -0,0 +1,189 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.Codeforces.CF_UserDTO;
+
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Coalesces concurrent Codeforces user.info lookups into one
+ * user.info?handles=a;b;c call. Requests arriving within a short window are
+ * collected, sent together and the results fanned back out to every waiting
+ * caller. A lookup completes with null when the handle does not exist; any
+ * other failure of the batch fails every lookup in it with an
+ * IllegalStateException, never with the HTTP client error, so callers cannot
+ * mistake a co-batched failure for their own handle being unknown.
+ */
+@Component
+public class CodeforcesUserInfoBatcher {
+    private static final long BATCH_WINDOW_MILLIS = 30;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final Pattern HANDLE_NOT_FOUND = Pattern
+            .compile("User with handle (\\S+) not found", Pattern.CASE_INSENSITIVE);
+    private static final Pattern VALID_HANDLE = Pattern.compile("[A-Za-z0-9_.\\-]+");
+
+    private final CodeforcesApiClient codeforcesApiClient;
+    private final ObjectMapper objectMapper;
+    // Runs the blocking calls; the scheduler thread only cuts batches
+    private final Executor upstreamCallExecutor;
+    private final ScheduledExecutorService scheduler;
+    // Pending lookups keyed by lower-cased handle, guarded by this
+    private final Map<String, CompletableFuture<CF_UserDTO.Result>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    // A batch goes through the interactive lane if any of its callers is interactive
+    private boolean pendingInteractive;
+    private boolean shutDown;
+
+    public CodeforcesUserInfoBatcher(CodeforcesApiClient codeforcesApiClient, ObjectMapper objectMapper,
+            @Qualifier("upstreamCallExecutor") Executor upstreamCallExecutor) {
+        this.codeforcesApiClient = codeforcesApiClient;
+        this.objectMapper = objectMapper;
+        this.upstreamCallExecutor = upstreamCallExecutor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CF-UserInfo-Batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<CF_UserDTO.Result> lookup(String handle, Priority priority) {
+        if (handle == null || !VALID_HANDLE.matcher(handle).matches()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String key = handle.toLowerCase();
+        synchronized (this) {
+            if (shutDown) {
+                return CompletableFuture
+                        .failedFuture(new IllegalStateException("Codeforces user.info batcher is shut down"));
+            }
+            pendingInteractive |= priority == Priority.INTERACTIVE;
+            CompletableFuture<CF_UserDTO.Result> future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= MAX_BATCH_SIZE) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                }
+                scheduledFlush = scheduler.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            return future;
+        }
+    }
+
+    // Stops the batch thread with the context and fails the lookups it will never send
+    @PreDestroy
+    public void shutdown() {
+        Map<String, CompletableFuture<CF_UserDTO.Result>> abandoned;
+        synchronized (this) {
+            shutDown = true;
+            abandoned = new LinkedHashMap<>(pending);
+            pending.clear();
+            scheduledFlush = null;
+        }
+        scheduler.shutdownNow();
+        IllegalStateException failure = new IllegalStateException("Codeforces user.info batcher is shut down");
+        abandoned.values().forEach(future -> future.completeExceptionally(failure));
+    }
+
+    private void flush() {
+        Map<String, CompletableFuture<CF_UserDTO.Result>> batch;
+        Priority priority;
+        synchronized (this) {
+            batch = new LinkedHashMap<>(pending);
+            priority = pendingInteractive ? Priority.INTERACTIVE : Priority.BACKGROUND;
+            pending.clear();
+            pendingInteractive = false;
+            scheduledFlush = null;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        upstreamCallExecutor.execute(() -> {
+            try {
+                execute(batch, priority);
+            } catch (Exception e) {
+                System.out.println("Codeforces user.info batch of " + batch.size() + " failed: " + e.getMessage());
+                // A 4xx here is about the batch, not about any one caller's handle
+                RuntimeException failure = e instanceof HttpClientErrorException
+                        ? new IllegalStateException("Codeforces user.info failed: " + e.getMessage())
+                        : e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+                batch.values().forEach(future -> future.completeExceptionally(failure));
+            }
+        });
+    }
+
+    private void execute(Map<String, CompletableFuture<CF_UserDTO.Result>> batch, Priority priority) {
+        while (!batch.isEmpty()) {
+            String url = "https://codeforces.com/api/user.info?handles=" + String.join(";", batch.keySet());
+            CF_UserDTO response;
+            try {
+                response = codeforcesApiClient.get(url, CF_UserDTO.class, priority);
+            } catch (HttpClientErrorException e) {
+                // Codeforces answers FAILED with HTTP 400, the comment is in the body
+                response = failedResponse(e);
+            }
+            if (response == null) {
+                throw new IllegalStateException("Empty response from Codeforces user.info");
+            }
+            if ("OK".equals(response.getStatus())) {
+                if (response.getResult() != null) {
+                    for (CF_UserDTO.Result result : response.getResult()) {
+                        CompletableFuture<CF_UserDTO.Result> future = batch
+                                .remove(result.getHandle().toLowerCase());
+                        if (future != null) {
+                            future.complete(result);
+                        }
+                    }
+                }
+                // Anything left was not returned by Codeforces
+                batch.values().forEach(future -> future.complete(null));
+                return;
+            }
+            // One unknown handle fails the whole call, drop it and retry the rest
+            Matcher matcher = HANDLE_NOT_FOUND.matcher(response.getComment() == null ? "" : response.getComment());
+            if (!matcher.find()) {
+                throw new IllegalStateException("Codeforces user.info failed: " + response.getComment());
+            }
+            CompletableFuture<CF_UserDTO.Result> missing = batch.remove(matcher.group(1).toLowerCase());
+            if (missing == null) {
+                throw new IllegalStateException("Codeforces user.info failed: " + response.getComment());
+            }
+            missing.complete(null);
+        }
+    }
+
+    private CF_UserDTO failedResponse(HttpClientErrorException e) {
+        CF_UserDTO response;
+        try {
+            response = objectMapper.readValue(e.getResponseBodyAsString(), CF_UserDTO.class);
+        } catch (Exception parseError) {
+            throw e;
+        }
+        if (response == null || !"FAILED".equals(response.getStatus())) {
+            throw e;
+        }
+        return response;
+    }
+}
@@ -0,0 +1,218 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.ContestDTO;
+import com.algoboard.entities.User;
+import com.algoboard.repository.UserRepository;
+
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * iCalendar (RFC 5545) feed of the contest list. A filter is a set of
+ * platforms, so there are only 16 possible feeds; each is rendered once per
+ * contest list version and the bytes are served as-is until the next version,
+ * however often calendar clients poll.
+ */
+@Service
+public class ContestCalendarFeedService implements IMetricsProvider {
+    // Bit i of a filter mask selects PLATFORMS.get(i)
+    private static final List<String> PLATFORMS = List.of(PlatformCircuitBreakers.CODEFORCES,
+            PlatformCircuitBreakers.ATCODER, PlatformCircuitBreakers.CODECHEF, PlatformCircuitBreakers.LEETCODE);
+    private static final int ALL_PLATFORMS = (1 << PLATFORMS.size()) - 1;
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final DateTimeFormatter ICS_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    // Octets per content line before it has to be folded
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final ContestListService contestListService;
+    private final UserRepository userRepository;
+    private final Map<Integer, Feed> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong renders = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+
+    public ContestCalendarFeedService(ContestListService contestListService, UserRepository userRepository) {
+        this.contestListService = contestListService;
+        this.userRepository = userRepository;
+    }
+
+    // One rendered feed; never modified once built
+    public static final class Feed {
+        private final long version;
+        private final byte[] body;
+        private final String eTag;
+
+        private Feed(long version, byte[] body, String eTag) {
+            this.version = version;
+            this.body = body;
+            this.eTag = eTag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+    }
+
+    /*
+     * The feed for a user's linked platforms, narrowed further by a comma
+     * separated platform list when one is given; with neither, every platform.
+     * Returns null when the user does not exist.
+     */
+    public Feed getFeed(String username, String platforms) {
+        int mask = ALL_PLATFORMS;
+        if (username != null && !username.isEmpty()) {
+            User user = userRepository.findByUsername(username);
+            if (user == null) {
+                return null;
+            }
+            mask = linkedPlatforms(user);
+        }
+        if (platforms != null && !platforms.isEmpty()) {
+            mask &= parsePlatforms(platforms);
+        }
+        served.incrementAndGet();
+
+        ContestListService.VersionedView current = contestListService.getVersionedView();
+        long version = current.getVersion();
+        int filter = mask;
+        // compute() keeps concurrent polls of a stale feed from rendering it more than once
+        return feeds.compute(filter, (key, cached) -> cached != null && cached.version == version
+                ? cached
+                : render(version, filter, current.getView().getContests()));
+    }
+
+    private Feed render(long version, int mask, List<ContestDTO> contests) {
+        renders.incrementAndGet();
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(ICS_UTC);
+        StringBuilder ics = new StringBuilder(256 + contests.size() * 320);
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:-//AlgoBoard//Contest Calendar//EN");
+        line(ics, "CALSCALE:GREGORIAN");
+        line(ics, "METHOD:PUBLISH");
+        line(ics, "X-WR-CALNAME:" + escape(calendarName(mask)));
+        line(ics, "REFRESH-INTERVAL;VALUE=DURATION:PT1H");
+        line(ics, "X-PUBLISHED-TTL:PT1H");
+        for (ContestDTO contest : contests) {
+            int bit = PLATFORMS.indexOf(contest.getPlatform());
+            if (bit < 0 || (mask & (1 << bit)) == 0 || contest.getStartTime() == null) {
+                continue;
+            }
+            LocalDateTime end = contest.getEndTime() != null ? contest.getEndTime() : contest.getStartTime();
+            line(ics, "BEGIN:VEVENT");
+            line(ics, "UID:" + escape(contest.getPlatform() + "-" + contest.getContestId()) + "@algoboard");
+            line(ics, "DTSTAMP:" + stamp);
+            line(ics, "DTSTART:" + utc(contest.getStartTime()));
+            line(ics, "DTEND:" + utc(end));
+            line(ics, "SUMMARY:" + escape(contest.getContestName()));
+            if (contest.getContestUrl() != null) {
+                line(ics, "URL:" + contest.getContestUrl());
+                line(ics, "DESCRIPTION:" + escape(contest.getPlatform() + " contest\n" + contest.getContestUrl()));
+            }
+            line(ics, "CATEGORIES:" + escape(contest.getPlatform()));
+            line(ics, "END:VEVENT");
+        }
+        line(ics, "END:VCALENDAR");
+        return new Feed(version, ics.toString().getBytes(StandardCharsets.UTF_8),
+                "\"ics-" + version + "-" + mask + "\"");
+    }
+
+    private static int linkedPlatforms(User user) {
+        int mask = 0;
+        String[] handles = { user.getCodeforcesUsername(), user.getAtcoderUsername(), user.getCodechefUsername(),
+                user.getLeetcodeUsername() };
+        for (int i = 0; i < handles.length; i++) {
+            if (handles[i] != null && !handles[i].isEmpty()) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    private static int parsePlatforms(String platforms) {
+        int mask = 0;
+        for (String platform : platforms.split(",")) {
+            String name = platform.trim().toLowerCase();
+            if (name.isEmpty()) {
+                continue;
+            }
+            int bit = PLATFORMS.indexOf(name);
+            if (bit < 0) {
+                throw new IllegalArgumentException("Unknown platform: " + platform.trim());
+            }
+            mask |= 1 << bit;
+        }
+        return mask;
+    }
+
+    private static String calendarName(int mask) {
+        if (mask == ALL_PLATFORMS) {
+            return "AlgoBoard Contests";
+        }
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < PLATFORMS.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                names.add(PLATFORMS.get(i));
+            }
+        }
+        return "AlgoBoard Contests (" + (names.isEmpty() ? "none" : String.join(", ", names)) + ")";
+    }
+
+    // Contest times are IST local date-times
+    private static String utc(LocalDateTime time) {
+        return time.atZone(IST_ZONE).withZoneSameInstant(ZoneOffset.UTC).format(ICS_UTC);
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\r", "")
+                .replace("\n", "\\n");
+    }
+
+    // Appends a CRLF-terminated content line, folded at 75 octets without splitting a character
+    static void line(StringBuilder ics, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length();) {
+            int codePoint = content.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > MAX_LINE_OCTETS) {
+                ics.append("\r\n ");
+                octets = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        ics.append("\r\n");
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "contestCalendarFeed";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("cachedFeeds", feeds.size());
+        metrics.put("renders", renders.get());
+        metrics.put("served", served.get());
+        return metrics;
+    }
+}
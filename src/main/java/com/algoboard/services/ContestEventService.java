@@ -0,0 +1,302 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.ContestDTO;
+import com.algoboard.DTO.ContestDeltaDTO;
+import com.algoboard.utils.TimingWheel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes contest state changes to Server-Sent Events subscribers: "live" when
+ * a contest starts, "finished" when it ends, and "added" / "updated" /
+ * "removed" when a contest list refresh discovers a change. Start and end
+ * transitions are timers on the contest timing wheel, so an idle connection
+ * costs nothing until something actually happens.
+ *
+ * Nothing here writes to a connection on the caller's thread: events are
+ * queued per subscriber and each queue is drained by one task at a time on
+ * sseSendExecutor, so a slow client delays only itself. A client that falls
+ * MAX_QUEUED_EVENTS behind is disconnected and catches up through the delta
+ * endpoint when it reconnects.
+ */
+@Service
+public class ContestEventService implements IMetricsProvider {
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    // Clients reconnect on their own, this only bounds how long a dead connection can linger
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60 * 1000;
+    private static final int MAX_QUEUED_EVENTS = 64;
+
+    private final TimingWheel contestTimingWheel;
+    private final ObjectMapper objectMapper;
+    private final ContestListService contestListService;
+    private final Executor sseSendExecutor;
+    private final int maxConnections;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Reserved before a subscriber is created, so the limit holds under concurrent subscribes
+    private final AtomicInteger connections = new AtomicInteger();
+    // Start and end timers of every known contest, keyed like the contest list snapshot
+    private final Map<String, List<TimingWheel.Timeout>> timers = new ConcurrentHashMap<>();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicLong eventsSent = new AtomicLong();
+    private final AtomicLong rejectedConnections = new AtomicLong();
+    private final AtomicLong slowDisconnects = new AtomicLong();
+
+    public ContestEventService(@Qualifier("contestTimingWheel") TimingWheel contestTimingWheel,
+            ObjectMapper objectMapper, ContestListService contestListService,
+            @Qualifier("sseSendExecutor") Executor sseSendExecutor,
+            @Value("${app.sse.max-connections:10000}") int maxConnections) {
+        this.contestTimingWheel = contestTimingWheel;
+        this.objectMapper = objectMapper;
+        this.contestListService = contestListService;
+        this.sseSendExecutor = sseSendExecutor;
+        this.maxConnections = maxConnections;
+    }
+
+    // One event as queued for a subscriber; a null name is a heartbeat comment
+    private static final class Event {
+        private final String id;
+        private final String name;
+        private final String data;
+
+        private Event(String id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+
+        // Builders collect their output while being sent, so every send needs a fresh one
+        private SseEmitter.SseEventBuilder toBuilder() {
+            if (name == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+            return id == null ? builder : builder.id(id);
+        }
+    }
+
+    private static final Event PING = new Event(null, null, null);
+
+    // An open stream with its own queue; at most one drain task per subscriber runs at a time
+    private final class Subscriber {
+        private final SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private void enqueue(Event event) {
+            if (closed.get()) {
+                return;
+            }
+            if (queued.incrementAndGet() > MAX_QUEUED_EVENTS) {
+                slowDisconnects.incrementAndGet();
+                close(null);
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                sseSendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Event event;
+                while ((event = pending.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (closed.get()) {
+                        continue;
+                    }
+                    try {
+                        emitter.send(event.toBuilder());
+                        if (event.name != null) {
+                            eventsSent.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        close(e);
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared still needs a drain
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        // Gives the connection slot back exactly once, whichever side ended the stream
+        private boolean release() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.remove(this);
+            connections.decrementAndGet();
+            return true;
+        }
+
+        private void close(Exception error) {
+            if (!release()) {
+                return;
+            }
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+
+    // A new stream, or null when the connection limit is reached
+    public SseEmitter subscribe() {
+        int current;
+        do {
+            current = connections.get();
+            if (current >= maxConnections) {
+                rejectedConnections.incrementAndGet();
+                return null;
+            }
+        } while (!connections.compareAndSet(current, current + 1));
+        Subscriber subscriber = new Subscriber();
+        subscriber.emitter.onCompletion(subscriber::release);
+        subscriber.emitter.onTimeout(subscriber::release);
+        subscriber.emitter.onError(e -> subscriber.release());
+        try {
+            // The version lets a client that missed events catch up through the delta endpoint
+            Map<String, Object> hello = new LinkedHashMap<>();
+            hello.put("version", contestListService.getVersionedView().getVersion());
+            subscriber.enqueue(new Event(null, "connected", objectMapper.writeValueAsString(hello)));
+        } catch (Exception e) {
+            subscriber.close(e);
+            return subscriber.emitter;
+        }
+        subscribers.add(subscriber);
+        // The hello may already have failed on a send worker, released before it was added
+        if (subscriber.closed.get()) {
+            subscribers.remove(subscriber);
+        }
+        return subscriber.emitter;
+    }
+
+    @EventListener
+    public void onContestsChanged(ContestListService.ContestsChangedEvent event) {
+        ContestDeltaDTO delta = event.getDelta();
+        for (ContestDTO contest : delta.getRemoved()) {
+            cancelTimers(contest);
+            if (!delta.isFull()) {
+                broadcast("removed", contest);
+            }
+        }
+        for (ContestDTO contest : delta.getChanged()) {
+            cancelTimers(contest);
+            scheduleTimers(contest);
+            broadcast("updated", contest);
+        }
+        for (ContestDTO contest : delta.getAdded()) {
+            scheduleTimers(contest);
+            // The first version is everything we know, not something newly discovered
+            if (!delta.isFull()) {
+                broadcast("added", contest);
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle streams and finds connections that are gone
+    @Scheduled(fixedRate = 25000)
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(PING);
+        }
+    }
+
+    private void scheduleTimers(ContestDTO contest) {
+        long now = System.currentTimeMillis();
+        List<TimingWheel.Timeout> contestTimers = new ArrayList<>(2);
+        long start = epochMillis(contest.getStartTime());
+        long end = epochMillis(contest.getEndTime());
+        if (start > now) {
+            contestTimers.add(contestTimingWheel.schedule(start, () -> broadcast("live", contest)));
+        }
+        if (end > now) {
+            contestTimers.add(contestTimingWheel.schedule(end, () -> broadcast("finished", contest)));
+        }
+        if (!contestTimers.isEmpty()) {
+            timers.put(key(contest), contestTimers);
+        } else {
+            timers.remove(key(contest));
+        }
+    }
+
+    private void cancelTimers(ContestDTO contest) {
+        List<TimingWheel.Timeout> contestTimers = timers.remove(key(contest));
+        if (contestTimers != null) {
+            for (TimingWheel.Timeout timeout : contestTimers) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    // Serialized once and queued as-is for every subscriber
+    private void broadcast(String type, ContestDTO contest) {
+        if (type.equals("finished")) {
+            timers.remove(key(contest));
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(contest);
+        } catch (Exception e) {
+            System.out.println("Failed to serialize contest event: " + e.getMessage());
+            return;
+        }
+        Event event = new Event(String.valueOf(eventIds.incrementAndGet()), type, data);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? Long.MIN_VALUE : time.atZone(IST_ZONE).toInstant().toEpochMilli();
+    }
+
+    private static String key(ContestDTO contest) {
+        return contest.getPlatform() + ":" + contest.getContestId();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "contestEvents";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("connections", connections.get());
+        metrics.put("maxConnections", maxConnections);
+        metrics.put("rejectedConnections", rejectedConnections.get());
+        metrics.put("slowDisconnects", slowDisconnects.get());
+        metrics.put("trackedContests", timers.size());
+        metrics.put("eventsSent", eventsSent.get());
+        return metrics;
+    }
+}
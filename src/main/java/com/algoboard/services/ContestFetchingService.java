@@ -6,7 +6,9 @@ import com.algoboard.DTO.Leetcode.LC_ContestDTO;
 import com.algoboard.DTO.Leetcode.LC_ContestListDTO;
 import com.algoboard.DTO.ContestDTO;
 import com.algoboard.DTO.Leetcode.LC_ContestDTO.ContestHistory;
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.springframework.web.client.RestTemplate;
 import java.util.regex.Pattern;
@@ -19,14 +21,19 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.select.Elements;
 import org.jsoup.nodes.Element;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
@@ -35,49 +42,43 @@ public class ContestFetchingService {
     private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
     private static final ZoneOffset IST_OFFSET = ZoneOffset.of("+05:30");
 
-    private RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private ObjectMapper objectMapper = new ObjectMapper();
+    private final CodeforcesApiClient codeforcesApiClient;
+    private final Executor upstreamCallExecutor;
+    private final PlatformBulkheads platformBulkheads;
+
+    public ContestFetchingService(RestTemplate restTemplate, CodeforcesApiClient codeforcesApiClient,
+            @Qualifier("upstreamCallExecutor") Executor upstreamCallExecutor, PlatformBulkheads platformBulkheads) {
+        this.restTemplate = restTemplate;
+        this.codeforcesApiClient = codeforcesApiClient;
+        this.upstreamCallExecutor = upstreamCallExecutor;
+        this.platformBulkheads = platformBulkheads;
+    }
 
-    /**
-     * Custom comparator for sorting contests by priority and time
-     * Priority: Live contests → Upcoming contests → Finished contests
-     * Within each category: Sort by start time (earliest first)
+    /*
+     * Each getXContestList returns that platform's contests on its own and
+     * throws when the platform could not be read completely, so the caller can
+     * keep its previous list for the platform instead of showing a partial one.
      */
-    public int compareContestsByPriority(ContestDTO contest1, ContestDTO contest2) {
-        LocalDateTime now = LocalDateTime.now();
-
-        int priority1 = getContestPriority(contest1, now);
-        int priority2 = getContestPriority(contest2, now);
-
-        // Primary sort: by priority (lower number = higher priority)
-        if (priority1 != priority2) {
-            return Integer.compare(priority1, priority2);
-        }
-
-        // Secondary sort: by start time within same priority
-        if (priority1 == 1) { // Live contests - sort by earliest start time
-            return contest1.getStartTime().compareTo(contest2.getStartTime());
-        } else if (priority1 == 2) { // Upcoming contests - sort by earliest start time
-            return contest1.getStartTime().compareTo(contest2.getStartTime());
-        } else { // Finished contests - sort by latest start time (most recent first)
-            return contest2.getStartTime().compareTo(contest1.getStartTime());
-        }
+    public List<ContestDTO> getCodeforcesContestList() {
+        return loadSegment(PlatformBulkheads.CODEFORCES_CONTESTS, this::loadCodeforcesContestList);
     }
 
-    private int getContestPriority(ContestDTO contest, LocalDateTime now) {
-        if (now.isAfter(contest.getStartTime()) && now.isBefore(contest.getEndTime())) {
-            return 1; // Live contest
-        } else if (now.isBefore(contest.getStartTime())) {
-            return 2; // Upcoming contest
-        } else {
-            return 3; // Finished contest
-        }
+    private List<ContestDTO> loadSegment(String bulkheadName, Consumer<List<ContestDTO>> loader) {
+        return platformBulkheads.execute(bulkheadName, () -> {
+            List<ContestDTO> contests = new ArrayList<>();
+            loader.accept(contests);
+            return contests;
+        }, () -> {
+            throw new IllegalStateException("Bulkhead " + bulkheadName + " is saturated");
+        });
     }
 
-    public void getCodeforcesContestList(List<ContestDTO> allContests) {
+    private void loadCodeforcesContestList(List<ContestDTO> allContests) {
         String cfurl = "https://codeforces.com/api/contest.list";
         try {
-            CF_ContestListDTO response = restTemplate.getForObject(cfurl, CF_ContestListDTO.class);
+            CF_ContestListDTO response = codeforcesApiClient.get(cfurl, CF_ContestListDTO.class, Priority.BACKGROUND);
             int pastContestCount = 0;
             if (response != null && response.getStatus().equals("OK")) {
                 for (CF_ContestListDTO.CodeforcesContest contest : response.getResult()) {
@@ -143,14 +144,21 @@ public class ContestFetchingService {
                         break;// Limit to 3 past contests
                     }
                 }
+            } else {
+                throw new IllegalStateException("Codeforces contest.list did not return OK");
             }
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("");
             System.out.println("Error fetching Codeforces contests: " + e.getMessage());
+            throw e;
         }
     }
 
-    public void getCodechefContestList(List<ContestDTO> allContests) {
+    public List<ContestDTO> getCodechefContestList() {
+        return loadSegment(PlatformBulkheads.CODECHEF_CONTESTS, this::loadCodechefContestList);
+    }
+
+    private void loadCodechefContestList(List<ContestDTO> allContests) {
         String ccurl = "https://www.codechef.com/api/list/contests/all?sort_by=START&sorting_order=asc&offset=0&mode=all";
         try {
             CC_ContestListDTO response = restTemplate.getForObject(ccurl, CC_ContestListDTO.class);
@@ -159,14 +167,16 @@ public class ContestFetchingService {
             // 20:00:00"
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMM yyyy  HH:mm:ss");
 
-            if (response != null && response.getStatus().equals("success")) {
-                addCodechefContests(allContests, response.getPresentContests(), formatter, -1);
-                addCodechefContests(allContests, response.getFutureContests(), formatter, -1);
-                addCodechefContests(allContests, response.getPastContests(), formatter, 4);
+            if (response == null || !"success".equals(response.getStatus())) {
+                throw new IllegalStateException("CodeChef contest list did not return success");
             }
-        } catch (Exception e) {
+            addCodechefContests(allContests, response.getPresentContests(), formatter, -1);
+            addCodechefContests(allContests, response.getFutureContests(), formatter, -1);
+            addCodechefContests(allContests, response.getPastContests(), formatter, 4);
+        } catch (RuntimeException e) {
             System.out.println("");
             System.out.println("Error fetching CodeChef contests: " + e.getMessage());
+            throw e;
         }
     }
 
@@ -191,30 +201,50 @@ public class ContestFetchingService {
         }
     }
 
-    public void getAtcoderContestList(List<ContestDTO> allContests) {
+    public List<ContestDTO> getAtcoderContestList() {
+        return loadSegment(PlatformBulkheads.ATCODER_CONTESTS, this::loadAtcoderContestList);
+    }
+
+    private void loadAtcoderContestList(List<ContestDTO> allContests) {
         // Start both API calls simultaneously
         CompletableFuture<Void> upcomingFuture = CompletableFuture
-                .runAsync(() -> fetchAtcoderUpcomingContests(allContests));
-        CompletableFuture<Void> pastFuture = CompletableFuture.runAsync(() -> fetchAtcoderPastContests(allContests));
+                .runAsync(() -> fetchAtcoderUpcomingContests(allContests), upstreamCallExecutor);
+        CompletableFuture<Void> pastFuture = CompletableFuture
+                .runAsync(() -> fetchAtcoderPastContests(allContests), upstreamCallExecutor);
 
         // Wait for both to complete with timeout protection
+        boolean complete = true;
         try {
             upcomingFuture.get(8, TimeUnit.SECONDS);
         } catch (Exception e) {
             System.out.println("AtCoder upcoming contests timeout or error: " + e.getMessage());
+            complete = false;
         }
 
         try {
             pastFuture.get(8, TimeUnit.SECONDS);
         } catch (Exception e) {
             System.out.println("AtCoder past contests timeout or error: " + e.getMessage());
+            complete = false;
+        }
+        if (!complete) {
+            throw new IllegalStateException("AtCoder contest list is incomplete");
+        }
+    }
+
+    // Fetch a page through the shared pooled client and let Jsoup detect the charset
+    private Document fetchHtml(String url) throws IOException {
+        byte[] body = restTemplate.getForObject(url, byte[].class);
+        if (body == null) {
+            throw new IOException("Empty response from " + url);
         }
+        return Jsoup.parse(new ByteArrayInputStream(body), null, url);
     }
 
     private void fetchAtcoderUpcomingContests(List<ContestDTO> allContests) {
         String acurl = "https://atcoder.jp/contests/";
         try {
-            Document doc = Jsoup.connect(acurl).get();
+            Document doc = fetchHtml(acurl);
 
             // Try multiple selectors to find the upcoming contests table
             Element upcomingTable = null;
@@ -309,15 +339,16 @@ public class ContestFetchingService {
                     return;
                 }
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
             System.out.println("Error fetching AtCoder upcoming contests: " + e.getMessage());
+            throw new UncheckedIOException(e);
         }
     }
 
     private void fetchAtcoderPastContests(List<ContestDTO> allContests) {
         String acurl = "https://atcoder.jp/contests/archive";
         try {
-            Document doc = Jsoup.connect(acurl).get();
+            Document doc = fetchHtml(acurl);
             Elements rows = doc.select("table tbody tr");
 
             int countPastContests = 0;
@@ -357,26 +388,38 @@ public class ContestFetchingService {
             }
         } catch (IOException e) {
             System.out.println("Error fetching AtCoder past contests: " + e.getMessage());
+            throw new UncheckedIOException(e);
         }
     }
 
-    public void getLeetcodeContestList(List<ContestDTO> allContests) {
+    public List<ContestDTO> getLeetcodeContestList() {
+        return loadSegment(PlatformBulkheads.LEETCODE_CONTESTS, this::loadLeetcodeContestList);
+    }
+
+    private void loadLeetcodeContestList(List<ContestDTO> allContests) {
         // Start both API calls simultaneously
         CompletableFuture<Void> futureFuture = CompletableFuture
-                .runAsync(() -> fetchLeetcodeFutureContests(allContests));
-        CompletableFuture<Void> pastFuture = CompletableFuture.runAsync(() -> fetchLeetcodePastContests(allContests));
+                .runAsync(() -> fetchLeetcodeFutureContests(allContests), upstreamCallExecutor);
+        CompletableFuture<Void> pastFuture = CompletableFuture
+                .runAsync(() -> fetchLeetcodePastContests(allContests), upstreamCallExecutor);
 
         // Wait for both to complete with timeout protection
+        boolean complete = true;
         try {
             futureFuture.get(8, TimeUnit.SECONDS);
         } catch (Exception e) {
             System.out.println("LeetCode future contests timeout or error: " + e.getMessage());
+            complete = false;
         }
 
         try {
             pastFuture.get(8, TimeUnit.SECONDS);
         } catch (Exception e) {
             System.out.println("LeetCode past contests timeout or error: " + e.getMessage());
+            complete = false;
+        }
+        if (!complete) {
+            throw new IllegalStateException("LeetCode contest list is incomplete");
         }
     }
 
@@ -406,6 +449,7 @@ public class ContestFetchingService {
             }
         } catch (Exception e) {
             System.out.println("Error fetching LeetCode future contests: " + e.getMessage());
+            throw new IllegalStateException("LeetCode future contests unavailable", e);
         }
     }
 
@@ -437,8 +481,9 @@ public class ContestFetchingService {
                     }
                 }
             }
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             System.out.println("Error fetching LeetCode past contests: " + e.getMessage());
+            throw e;
         }
     }
 
@@ -0,0 +1,354 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.ContestDTO;
+import com.algoboard.DTO.ContestDeltaDTO;
+import com.algoboard.utils.ContestCalendar;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Serves the aggregated contest list from in-memory snapshots. Every platform
+ * is a separate segment with its own refresh interval, refreshed in the
+ * background and swapped in on its own; a failed refresh keeps that
+ * platform's previous contests. Segments refresh faster while one of their
+ * contests is about to start or end, and the merged contest calendar is
+ * rebuilt only when a segment changes.
+ * Intervals are read from app.contests.{platform}.refresh-interval-ms /
+ * .near-start-refresh-interval-ms.
+ *
+ * Every merged snapshot whose contests differ from the previous one gets the
+ * next version number. Versions start at the boot time in epoch millis, so a
+ * version or ETag a client kept from before a restart never names a snapshot
+ * of this run. The last HISTORY_SIZE snapshots are kept so clients
+ * can ask for only what changed since the version they hold, and every new
+ * version is published as a ContestsChangedEvent.
+ */
+@Service
+public class ContestListService implements IMetricsProvider {
+    private static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 1800000;
+    private static final long DEFAULT_NEAR_START_REFRESH_INTERVAL_MILLIS = 300000;
+    // How close a contest start or end has to be for the near-start interval to apply
+    private static final long NEAR_START_WINDOW_MINUTES = 60;
+    private static final long RETRY_DELAY_MILLIS = 60000;
+    private static final int HISTORY_SIZE = 32;
+    // Contest times are IST local date-times
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final Executor contestFetchExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Segment> segments = new LinkedHashMap<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    // Version of the first snapshot; later ones count up from it, far slower than the clock does
+    private final long firstVersion = System.currentTimeMillis();
+    // Oldest first, replaced as a whole on publish
+    private volatile List<Snapshot> history = Collections.emptyList();
+    // Completes once every segment has been tried at least once
+    private final CompletableFuture<Void> initialLoad = new CompletableFuture<>();
+    private final AtomicInteger segmentsNotTried = new AtomicInteger();
+
+    public ContestListService(ContestFetchingService contestFetchingService,
+            @Qualifier("contestFetchExecutor") Executor contestFetchExecutor, Environment environment,
+            ApplicationEventPublisher eventPublisher) {
+        this.contestFetchExecutor = contestFetchExecutor;
+        this.eventPublisher = eventPublisher;
+        addSegment(environment, "codeforces", contestFetchingService::getCodeforcesContestList);
+        addSegment(environment, "codechef", contestFetchingService::getCodechefContestList);
+        addSegment(environment, "atcoder", contestFetchingService::getAtcoderContestList);
+        addSegment(environment, "leetcode", contestFetchingService::getLeetcodeContestList);
+        segmentsNotTried.set(segments.size());
+    }
+
+    private static final class Segment {
+        private final String platform;
+        private final Supplier<List<ContestDTO>> loader;
+        private final long refreshIntervalMillis;
+        private final long nearStartRefreshIntervalMillis;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final AtomicBoolean tried = new AtomicBoolean();
+        // Written only by the refresh holding the refreshing flag
+        private volatile List<ContestDTO> contests;
+        private volatile LocalDateTime builtAt;
+        private volatile long nextRefreshAt;
+        private volatile int consecutiveFailures;
+        private volatile long refreshes;
+        private volatile long failures;
+
+        private Segment(String platform, Supplier<List<ContestDTO>> loader, long refreshIntervalMillis,
+                long nearStartRefreshIntervalMillis) {
+            this.platform = platform;
+            this.loader = loader;
+            this.refreshIntervalMillis = refreshIntervalMillis;
+            this.nearStartRefreshIntervalMillis = nearStartRefreshIntervalMillis;
+        }
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        // Keyed by platform and contest id
+        private final Map<String, ContestDTO> contests;
+        private final ContestCalendar calendar;
+        private final LocalDateTime builtAt;
+
+        private Snapshot(long version, Map<String, ContestDTO> contests) {
+            this.version = version;
+            this.contests = contests;
+            this.calendar = new ContestCalendar(new ArrayList<>(contests.values()));
+            this.builtAt = LocalDateTime.now();
+        }
+    }
+
+    // Published after a new version is swapped in; the first version reports every contest as added
+    public static final class ContestsChangedEvent {
+        private final ContestDeltaDTO delta;
+
+        private ContestsChangedEvent(ContestDeltaDTO delta) {
+            this.delta = delta;
+        }
+
+        public ContestDeltaDTO getDelta() {
+            return delta;
+        }
+    }
+
+    // The contest list as served at one moment, with the version it came from
+    public static final class VersionedView {
+        private final long version;
+        private final ContestCalendar.View view;
+
+        private VersionedView(long version, ContestCalendar.View view) {
+            this.version = version;
+            this.view = view;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public ContestCalendar.View getView() {
+            return view;
+        }
+
+        // Changes with the version and whenever a contest moves to another partition
+        public String getETag() {
+            LocalDateTime validUntil = view.getValidUntil();
+            return "\"" + version + "-" + (validUntil == null ? "end" : validUntil.toEpochSecond(ZoneOffset.UTC))
+                    + "\"";
+        }
+    }
+
+    // Live, upcoming and finished contests as of now
+    public VersionedView getVersionedView() {
+        Snapshot current = currentSnapshot();
+        if (current == null) {
+            return new VersionedView(0, new ContestCalendar(Collections.emptyList()).at(LocalDateTime.now(IST_ZONE)));
+        }
+        return new VersionedView(current.version, current.calendar.at(LocalDateTime.now(IST_ZONE)));
+    }
+
+    /**
+     * What was added, removed or changed since the given version. A version
+     * that is no longer (or never was) in the history gets the full list.
+     */
+    public ContestDeltaDTO getDelta(long sinceVersion) {
+        Snapshot current = currentSnapshot();
+        if (current == null) {
+            return new ContestDeltaDTO(0, true, Collections.emptyList(), Collections.emptyList(),
+                    Collections.emptyList());
+        }
+        Snapshot since = null;
+        for (Snapshot old : history) {
+            if (old.version == sinceVersion) {
+                since = old;
+            }
+        }
+        if (since == null) {
+            List<ContestDTO> all = current.calendar.at(LocalDateTime.now(IST_ZONE)).getContests();
+            return new ContestDeltaDTO(current.version, true, all, Collections.emptyList(), Collections.emptyList());
+        }
+        return diff(since, current);
+    }
+
+    private static ContestDeltaDTO diff(Snapshot since, Snapshot current) {
+        List<ContestDTO> added = new ArrayList<>();
+        List<ContestDTO> changed = new ArrayList<>();
+        List<ContestDTO> removed = new ArrayList<>();
+        if (since != current) {
+            for (Map.Entry<String, ContestDTO> entry : current.contests.entrySet()) {
+                ContestDTO old = since.contests.get(entry.getKey());
+                if (old == null) {
+                    added.add(entry.getValue());
+                } else if (!old.equals(entry.getValue())) {
+                    changed.add(entry.getValue());
+                }
+            }
+            for (Map.Entry<String, ContestDTO> entry : since.contests.entrySet()) {
+                if (!current.contests.containsKey(entry.getKey())) {
+                    removed.add(entry.getValue());
+                }
+            }
+        }
+        return new ContestDeltaDTO(current.version, false, added, removed, changed);
+    }
+
+    private Snapshot currentSnapshot() {
+        if (!initialLoad.isDone()) {
+            // Only right after startup, every other read is served from memory
+            awaitInitialLoad();
+        }
+        return snapshot.get();
+    }
+
+    // Start the refresh of every segment that is due, the first run happens at startup
+    @Scheduled(fixedDelay = 30000)
+    public void refreshDueSegments() {
+        long now = System.currentTimeMillis();
+        for (Segment segment : segments.values()) {
+            if (now >= segment.nextRefreshAt && segment.refreshing.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> refresh(segment), contestFetchExecutor);
+            }
+        }
+    }
+
+    private void awaitInitialLoad() {
+        refreshDueSegments();
+        try {
+            initialLoad.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.out.println("Initial contest list load timeout or error: " + e.getMessage());
+        }
+    }
+
+    // Caller holds segment.refreshing
+    private void refresh(Segment segment) {
+        try {
+            List<ContestDTO> contests = segment.loader.get();
+            segment.contests = Collections.unmodifiableList(contests);
+            segment.builtAt = LocalDateTime.now();
+            segment.consecutiveFailures = 0;
+            segment.refreshes++;
+            segment.nextRefreshAt = System.currentTimeMillis() + refreshInterval(segment, contests);
+            publish();
+        } catch (Exception e) {
+            // Keep serving the previous contests of this platform, retry with backoff
+            segment.consecutiveFailures++;
+            segment.failures++;
+            long delay = Math.min(segment.refreshIntervalMillis,
+                    RETRY_DELAY_MILLIS << Math.min(segment.consecutiveFailures - 1, 5));
+            segment.nextRefreshAt = System.currentTimeMillis() + delay;
+            System.out.println("Refreshing " + segment.platform + " contests failed, keeping the list from "
+                    + segment.builtAt + ": " + e.getMessage());
+        } finally {
+            segment.refreshing.set(false);
+            if (segment.tried.compareAndSet(false, true) && segmentsNotTried.decrementAndGet() == 0) {
+                initialLoad.complete(null);
+            }
+        }
+    }
+
+    private long refreshInterval(Segment segment, List<ContestDTO> contests) {
+        LocalDateTime now = LocalDateTime.now(IST_ZONE);
+        LocalDateTime horizon = now.plusMinutes(NEAR_START_WINDOW_MINUTES);
+        for (ContestDTO contest : contests) {
+            if (isBetween(contest.getStartTime(), now, horizon) || isBetween(contest.getEndTime(), now, horizon)) {
+                return Math.min(segment.refreshIntervalMillis, segment.nearStartRefreshIntervalMillis);
+            }
+        }
+        return segment.refreshIntervalMillis;
+    }
+
+    private static boolean isBetween(LocalDateTime time, LocalDateTime from, LocalDateTime to) {
+        return time != null && !time.isBefore(from) && !time.isAfter(to);
+    }
+
+    // Merge every segment's current contests into a new snapshot, versioned only if something changed
+    private void publish() {
+        synchronized (segments) {
+            Map<String, ContestDTO> allContests = new LinkedHashMap<>();
+            for (Segment segment : segments.values()) {
+                List<ContestDTO> contests = segment.contests;
+                if (contests != null) {
+                    for (ContestDTO contest : contests) {
+                        allContests.put(contest.getPlatform() + ":" + contest.getContestId(), contest);
+                    }
+                }
+            }
+            Snapshot previous = snapshot.get();
+            if (previous != null && previous.contests.equals(allContests)) {
+                return;
+            }
+            Snapshot next = new Snapshot(previous == null ? firstVersion : previous.version + 1, allContests);
+            List<Snapshot> nextHistory = new ArrayList<>(history);
+            nextHistory.add(next);
+            if (nextHistory.size() > HISTORY_SIZE) {
+                nextHistory.remove(0);
+            }
+            history = Collections.unmodifiableList(nextHistory);
+            snapshot.set(next);
+            ContestDeltaDTO delta = previous == null
+                    ? new ContestDeltaDTO(next.version, true, new ArrayList<>(allContests.values()),
+                            Collections.emptyList(), Collections.emptyList())
+                    : diff(previous, next);
+            // Still under the lock so listeners see the versions in order; they only queue work, no I/O
+            try {
+                eventPublisher.publishEvent(new ContestsChangedEvent(delta));
+            } catch (Exception e) {
+                System.out.println("Contest list change listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void addSegment(Environment environment, String platform, Supplier<List<ContestDTO>> loader) {
+        long refreshIntervalMillis = environment.getProperty("app.contests." + platform + ".refresh-interval-ms",
+                Long.class, DEFAULT_REFRESH_INTERVAL_MILLIS);
+        long nearStartRefreshIntervalMillis = environment.getProperty(
+                "app.contests." + platform + ".near-start-refresh-interval-ms", Long.class,
+                DEFAULT_NEAR_START_REFRESH_INTERVAL_MILLIS);
+        segments.put(platform, new Segment(platform, loader, Math.max(RETRY_DELAY_MILLIS, refreshIntervalMillis),
+                Math.max(RETRY_DELAY_MILLIS, nearStartRefreshIntervalMillis)));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "contestList";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        Snapshot current = snapshot.get();
+        metrics.put("version", current == null ? 0 : current.version);
+        metrics.put("contests", current == null ? 0 : current.calendar.size());
+        metrics.put("builtAt", current == null ? null : current.builtAt.toString());
+        for (Segment segment : segments.values()) {
+            Map<String, Object> segmentMetrics = new LinkedHashMap<>();
+            List<ContestDTO> contests = segment.contests;
+            segmentMetrics.put("contests", contests == null ? 0 : contests.size());
+            segmentMetrics.put("builtAt", segment.builtAt == null ? null : segment.builtAt.toString());
+            segmentMetrics.put("refreshes", segment.refreshes);
+            segmentMetrics.put("failures", segment.failures);
+            segmentMetrics.put("consecutiveFailures", segment.consecutiveFailures);
+            metrics.put(segment.platform, segmentMetrics);
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,241 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.ContestDTO;
+import com.algoboard.DTO.ContestDeltaDTO;
+import com.algoboard.entities.ReminderSubscription;
+import com.algoboard.entities.User;
+import com.algoboard.repository.ReminderSubscriptionRepository;
+import com.algoboard.repository.UserRepository;
+import com.algoboard.utils.TimingWheel;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emails subscribers a fixed number of minutes before contests on the
+ * platforms they follow. Every known contest gets one timer on the contest
+ * timing wheel per allowed offset, so nothing is polled: when a timer fires,
+ * the (platform, offset) wave is read from the subscriptions index, its users
+ * are loaded in batches and the whole wave goes to EmailService at once.
+ */
+@Service
+public class ContestReminderService implements IMetricsProvider {
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final List<String> PLATFORMS = List.of(PlatformCircuitBreakers.CODEFORCES,
+            PlatformCircuitBreakers.ATCODER, PlatformCircuitBreakers.CODECHEF, PlatformCircuitBreakers.LEETCODE);
+    // Users are loaded with one findAllById per this many subscriptions
+    private static final int USER_LOAD_BATCH_SIZE = 500;
+
+    private final ReminderSubscriptionRepository reminderSubscriptionRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final TimingWheel contestTimingWheel;
+    private final List<Integer> offsetsMinutes;
+    // Reminder timers of every known upcoming contest, keyed like the contest list snapshot
+    private final Map<String, List<TimingWheel.Timeout>> timers = new ConcurrentHashMap<>();
+    private final AtomicLong wavesFired = new AtomicLong();
+    private final AtomicLong remindersQueued = new AtomicLong();
+
+    public ContestReminderService(ReminderSubscriptionRepository reminderSubscriptionRepository,
+            UserRepository userRepository, EmailService emailService,
+            @Qualifier("contestTimingWheel") TimingWheel contestTimingWheel,
+            @Value("${app.reminders.offsets-minutes:10,30,60,1440}") int[] offsetsMinutes) {
+        this.reminderSubscriptionRepository = reminderSubscriptionRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.contestTimingWheel = contestTimingWheel;
+        List<Integer> offsets = new ArrayList<>();
+        for (int offset : new TreeSet<>(Arrays.stream(offsetsMinutes).boxed().toList())) {
+            if (offset > 0) {
+                offsets.add(offset);
+            }
+        }
+        this.offsetsMinutes = List.copyOf(offsets);
+    }
+
+    public List<Integer> getOffsetsMinutes() {
+        return offsetsMinutes;
+    }
+
+    public List<ReminderSubscription> getSubscriptions(String username) {
+        if (username == null || username.isEmpty()) {
+            throw new IllegalArgumentException("Username must not be empty");
+        }
+        return reminderSubscriptionRepository.findByUsername(username);
+    }
+
+    // Creates or replaces the user's reminder for one platform
+    public ReminderSubscription subscribe(String username, String platform, int offsetMinutes) {
+        if (username == null || username.isEmpty()) {
+            throw new IllegalArgumentException("Username must not be empty");
+        }
+        if (platform == null || !PLATFORMS.contains(platform.toLowerCase())) {
+            throw new IllegalArgumentException("Unknown platform: " + platform);
+        }
+        platform = platform.toLowerCase();
+        if (!offsetsMinutes.contains(offsetMinutes)) {
+            throw new IllegalArgumentException("Reminder offset must be one of " + offsetsMinutes + " minutes");
+        }
+        User user = userRepository.findByUsername(username);
+        if (user == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        String handle = handleFor(user, platform);
+        if (handle == null || handle.isEmpty()) {
+            throw new IllegalArgumentException("No " + platform + " handle linked to this account");
+        }
+        return reminderSubscriptionRepository.save(new ReminderSubscription(username + ":" + platform, username,
+                platform, offsetMinutes, LocalDateTime.now()));
+    }
+
+    public boolean unsubscribe(String username, String platform) {
+        if (username == null || platform == null) {
+            throw new IllegalArgumentException("Username and platform are required");
+        }
+        String id = username + ":" + platform.toLowerCase();
+        if (!reminderSubscriptionRepository.existsById(id)) {
+            return false;
+        }
+        reminderSubscriptionRepository.deleteById(id);
+        return true;
+    }
+
+    @EventListener
+    public void onContestsChanged(ContestListService.ContestsChangedEvent event) {
+        ContestDeltaDTO delta = event.getDelta();
+        for (ContestDTO contest : delta.getRemoved()) {
+            cancelTimers(contest);
+        }
+        for (ContestDTO contest : delta.getChanged()) {
+            cancelTimers(contest);
+            scheduleTimers(contest);
+        }
+        for (ContestDTO contest : delta.getAdded()) {
+            scheduleTimers(contest);
+        }
+    }
+
+    // Only reminders still ahead are scheduled, so a reschedule never repeats one already sent
+    private void scheduleTimers(ContestDTO contest) {
+        if (contest.getStartTime() == null || !PLATFORMS.contains(contest.getPlatform())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long start = contest.getStartTime().atZone(IST_ZONE).toInstant().toEpochMilli();
+        List<TimingWheel.Timeout> contestTimers = new ArrayList<>(offsetsMinutes.size());
+        for (int offset : offsetsMinutes) {
+            long fireAt = start - offset * 60000L;
+            if (fireAt > now) {
+                contestTimers.add(contestTimingWheel.schedule(fireAt, () -> fire(contest, offset)));
+            }
+        }
+        if (!contestTimers.isEmpty()) {
+            timers.put(key(contest), contestTimers);
+        } else {
+            timers.remove(key(contest));
+        }
+    }
+
+    private void cancelTimers(ContestDTO contest) {
+        List<TimingWheel.Timeout> contestTimers = timers.remove(key(contest));
+        if (contestTimers != null) {
+            for (TimingWheel.Timeout timeout : contestTimers) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    // Runs on the timer executor, the emails themselves go out on the reminder email workers
+    private void fire(ContestDTO contest, int offsetMinutes) {
+        if (offsetMinutes == offsetsMinutes.get(0)) {
+            timers.remove(key(contest));
+        }
+        List<ReminderSubscription> subscriptions = reminderSubscriptionRepository
+                .findByPlatformAndOffsetMinutes(contest.getPlatform(), offsetMinutes);
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        wavesFired.incrementAndGet();
+
+        List<User> recipients = new ArrayList<>(subscriptions.size());
+        List<String> orphaned = new ArrayList<>();
+        for (int from = 0; from < subscriptions.size(); from += USER_LOAD_BATCH_SIZE) {
+            List<ReminderSubscription> batch = subscriptions.subList(from,
+                    Math.min(from + USER_LOAD_BATCH_SIZE, subscriptions.size()));
+            Map<String, ReminderSubscription> byUsername = new HashMap<>();
+            for (ReminderSubscription subscription : batch) {
+                byUsername.put(subscription.getUsername(), subscription);
+            }
+            for (User user : userRepository.findAllById(byUsername.keySet())) {
+                byUsername.remove(user.getUsername());
+                // The handle may have been unlinked since subscribing; keep the subscription in case it comes back
+                String handle = handleFor(user, contest.getPlatform());
+                if (handle != null && !handle.isEmpty()) {
+                    recipients.add(user);
+                }
+            }
+            // Whatever is left belongs to deleted accounts
+            for (ReminderSubscription subscription : byUsername.values()) {
+                orphaned.add(subscription.getId());
+            }
+        }
+        if (!orphaned.isEmpty()) {
+            reminderSubscriptionRepository.deleteAllById(orphaned);
+        }
+        if (recipients.isEmpty()) {
+            return;
+        }
+        System.out.println("Sending " + recipients.size() + " reminders for " + contest.getPlatform() + " contest "
+                + contest.getContestName() + " (" + offsetMinutes + " minutes before start)");
+        remindersQueued.addAndGet(recipients.size());
+        emailService.sendContestReminders(contest, offsetMinutes, recipients);
+    }
+
+    private static String handleFor(User user, String platform) {
+        switch (platform) {
+            case PlatformCircuitBreakers.CODEFORCES:
+                return user.getCodeforcesUsername();
+            case PlatformCircuitBreakers.ATCODER:
+                return user.getAtcoderUsername();
+            case PlatformCircuitBreakers.CODECHEF:
+                return user.getCodechefUsername();
+            case PlatformCircuitBreakers.LEETCODE:
+                return user.getLeetcodeUsername();
+            default:
+                return null;
+        }
+    }
+
+    private static String key(ContestDTO contest) {
+        return contest.getPlatform() + ":" + contest.getContestId();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "contestReminders";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("offsetsMinutes", offsetsMinutes);
+        metrics.put("trackedContests", timers.size());
+        metrics.put("wavesFired", wavesFired.get());
+        metrics.put("remindersQueued", remindersQueued.get());
+        return metrics;
+    }
+}
@@ -1,7 +1,12 @@
 package com.algoboard.services;
 
+import com.algoboard.DTO.ContestDTO;
+import com.algoboard.entities.User;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -10,11 +15,19 @@ import org.springframework.stereotype.Service;
 import jakarta.mail.internet.MimeMessage;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 @Service
-public class EmailService {
+public class EmailService implements IMetricsProvider {
 
     private static final Logger logger = Logger.getLogger(EmailService.class.getName());
 
@@ -30,6 +43,21 @@ public class EmailService {
     @Value("${app.email.testing.mode:true}")
     private boolean testingMode;
 
+    // Reminder waves bypass emailTaskExecutor: a few workers each drain batches over one SMTP connection
+    @Autowired
+    @Qualifier("reminderEmailExecutor")
+    private Executor reminderEmailExecutor;
+
+    @Value("${app.reminders.batch-size:50}")
+    private int reminderBatchSize;
+
+    @Value("${app.reminders.smtp-connections:4}")
+    private int reminderSmtpConnections;
+
+    private final AtomicLong remindersSent = new AtomicLong();
+    private final AtomicLong remindersFailed = new AtomicLong();
+    private final AtomicLong reminderBatches = new AtomicLong();
+
     // Send welcome email to newly registered user
     @Async("emailTaskExecutor")
     public void sendWelcomeEmail(String toEmail, String firstName) {
@@ -156,6 +184,94 @@ public class EmailService {
         }
     }
 
+    /*
+     * Sends one reminder wave. Recipients are cut into batches and at most
+     * reminderSmtpConnections workers drain them, each batch going out through
+     * a single send(MimeMessage...) call, i.e. one SMTP connection per batch
+     * rather than one connection and one queued task per recipient. Returns
+     * once the workers are submitted.
+     */
+    public void sendContestReminders(ContestDTO contest, int offsetMinutes, List<User> recipients) {
+        if (testingMode) {
+            logger.warning("TESTING MODE ACTIVE - " + recipients.size() + " contest reminders blocked for: "
+                    + contest.getContestName());
+            return;
+        }
+        String subject = "⏰ " + contest.getContestName() + " starts in " + formatOffset(offsetMinutes);
+        String startTime = contest.getStartTime().format(DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' hh:mm a"));
+
+        Queue<List<User>> batches = new ConcurrentLinkedQueue<>();
+        List<User> batch = new ArrayList<>(reminderBatchSize);
+        for (User user : recipients) {
+            batch.add(user);
+            if (batch.size() >= reminderBatchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(reminderBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        int workers = Math.max(1, Math.min(reminderSmtpConnections, batches.size()));
+        for (int i = 0; i < workers; i++) {
+            reminderEmailExecutor.execute(() -> {
+                List<User> next;
+                while ((next = batches.poll()) != null) {
+                    sendReminderBatch(next, subject, contest, startTime, offsetMinutes);
+                }
+            });
+        }
+    }
+
+    private void sendReminderBatch(List<User> batch, String subject, ContestDTO contest, String startTime,
+            int offsetMinutes) {
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (User user : batch) {
+            if (!isEmailValid(user.getEmail())) {
+                continue;
+            }
+            try {
+                String firstName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
+                messages.add(createMessage(user.getEmail(), subject,
+                        processReminderTemplate(firstName, contest, startTime, formatOffset(offsetMinutes))));
+            } catch (Exception e) {
+                remindersFailed.incrementAndGet();
+                logger.log(Level.WARNING, "Failed to build reminder for: " + user.getEmail() + " - " + e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        reminderBatches.incrementAndGet();
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+            remindersSent.addAndGet(messages.size());
+        } catch (MailSendException e) {
+            // The rest of the batch still went out on the same connection
+            int failed = e.getFailedMessages() != null ? e.getFailedMessages().size() : messages.size();
+            remindersFailed.addAndGet(failed);
+            remindersSent.addAndGet(messages.size() - failed);
+            logger.log(Level.WARNING, failed + " of " + messages.size() + " reminders failed - " + e.getMessage());
+        } catch (Exception e) {
+            remindersFailed.addAndGet(messages.size());
+            logger.log(Level.WARNING, "Failed to send a batch of " + messages.size() + " reminders - "
+                    + e.getMessage());
+        }
+    }
+
+    private static String formatOffset(int offsetMinutes) {
+        if (offsetMinutes % 1440 == 0) {
+            int days = offsetMinutes / 1440;
+            return days == 1 ? "1 day" : days + " days";
+        }
+        if (offsetMinutes % 60 == 0) {
+            int hours = offsetMinutes / 60;
+            return hours == 1 ? "1 hour" : hours + " hours";
+        }
+        return offsetMinutes == 1 ? "1 minute" : offsetMinutes + " minutes";
+    }
+
     // Process welcome email template with user data
     private String processWelcomeTemplate(String firstName) {
         String template = """
@@ -360,6 +476,50 @@ public class EmailService {
         return template.replace("{{otp}}", otp);
     }
 
+    // Contest reminder content
+    private String processReminderTemplate(String firstName, ContestDTO contest, String startTime, String offset) {
+        String template = """
+                <html>
+                <head>
+                    <style>
+                        .header { text-align: center; padding: 20px; }
+                        .content { margin: 20px; }
+                        .footer { text-align: center; margin-top: 20px; color: #7f8c8d; font-size: 14px; }
+                    </style>
+                </head>
+                <body>
+                    <div class="header">
+                        <div class="logo">⏰ AlgoBoard Reminders</div>
+                        <p>Contest starting in {{offset}}</p>
+                    </div>
+
+                    <div class="content">
+                        <p>Hi <strong>{{firstName}}</strong>,</p>
+
+                        <p><strong>{{contestName}}</strong> on {{platform}} starts on <strong>{{startTime}}</strong> (IST).</p>
+
+                        <p><a href="{{contestUrl}}">Open the contest page</a></p>
+
+                        <p>Good luck!<br>
+                        <strong>The AlgoBoard Team</strong></p>
+                    </div>
+
+                    <div class="footer">
+                        <p>You are receiving this because you subscribed to {{platform}} contest reminders on AlgoBoard.</p>
+                        <p>© 2025 AlgoBoard. All rights reserved.</p>
+                    </div>
+                </body>
+                </html>
+                """;
+
+        return template.replace("{{firstName}}", firstName)
+                .replace("{{contestName}}", contest.getContestName())
+                .replace("{{platform}}", contest.getPlatform())
+                .replace("{{startTime}}", startTime)
+                .replace("{{contestUrl}}", contest.getContestUrl())
+                .replace("{{offset}}", offset);
+    }
+
     // Core method to send email
     private void sendEmail(String to, String subject, String htmlContent) {
         try {
@@ -369,22 +529,7 @@ public class EmailService {
                 return; // Don't throw exception, just return silently
             }
 
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail, fromName);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true); // true indicates HTML content
-
-            // Add headers to prevent bounce-back emails
-            message.setHeader("Return-Path", "<>"); // Empty return path prevents bounces
-            message.setHeader("Errors-To", ""); // Prevent error notifications
-            message.setHeader("X-Errors-To", ""); // Additional error prevention
-            message.setHeader("Bounces-To", ""); // Prevent bounce notifications
-            message.setHeader("Auto-Submitted", "auto-generated"); // Mark as automated
-            message.setHeader("X-Auto-Response-Suppress", "All"); // Suppress auto-responses
-            message.setHeader("Precedence", "bulk"); // Lower priority, reduces bounces
+            MimeMessage message = createMessage(to, subject, htmlContent);
 
             mailSender.send(message);
             logger.info("Email sent successfully to: " + to);
@@ -395,6 +540,27 @@ public class EmailService {
         }
     }
 
+    // Builds a ready-to-send message with the anti-bounce headers every email carries
+    private MimeMessage createMessage(String to, String subject, String htmlContent) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(htmlContent, true); // true indicates HTML content
+
+        // Add headers to prevent bounce-back emails
+        message.setHeader("Return-Path", "<>"); // Empty return path prevents bounces
+        message.setHeader("Errors-To", ""); // Prevent error notifications
+        message.setHeader("X-Errors-To", ""); // Additional error prevention
+        message.setHeader("Bounces-To", ""); // Prevent bounce notifications
+        message.setHeader("Auto-Submitted", "auto-generated"); // Mark as automated
+        message.setHeader("X-Auto-Response-Suppress", "All"); // Suppress auto-responses
+        message.setHeader("Precedence", "bulk"); // Lower priority, reduces bounces
+        return message;
+    }
+
     // Utility method to validate email format
     public boolean isEmailValid(String email) {
         if (email == null || email.trim().isEmpty()) {
@@ -448,4 +614,18 @@ public class EmailService {
 
         return true;
     }
+
+    @Override
+    public String getMetricsName() {
+        return "reminderEmails";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sent", remindersSent.get());
+        metrics.put("failed", remindersFailed.get());
+        metrics.put("batches", reminderBatches.get());
+        return metrics;
+    }
 }
@@ -0,0 +1,70 @@
+package com.algoboard.services;
+
+import com.algoboard.entities.User;
+import com.algoboard.repository.UserRepository;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * First level of a profile lookup: which handle an AlgoBoard user has linked
+ * on each platform. Entries are tiny and short-lived (the userHandles cache);
+ * the profiles themselves are cached once per platform handle, so users
+ * linked to the same handle share one cached profile and one fetch.
+ */
+@Service
+public class HandleDirectory {
+    public static final String CACHE_NAME = "userHandles";
+
+    private final CacheManager cacheManager;
+    private final UserRepository userRepository;
+
+    public HandleDirectory(CacheManager cacheManager, UserRepository userRepository) {
+        this.cacheManager = cacheManager;
+        this.userRepository = userRepository;
+    }
+
+    // The user's handle on the platform, null when none is linked
+    public String getHandle(String username, String platform) {
+        return getHandles(username).get(platform);
+    }
+
+    // Linked handles by platform name; throws when the user does not exist
+    @SuppressWarnings("unchecked")
+    public Map<String, String> getHandles(String username) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Cache.ValueWrapper cached = cache != null ? cache.get(username) : null;
+        if (cached != null && cached.get() instanceof Map<?, ?> handles) {
+            return (Map<String, String>) handles;
+        }
+        User user = userRepository.findByUsername(username);
+        if (user == null) {
+            throw new IllegalArgumentException("User not found with username: " + username);
+        }
+        Map<String, String> handles = new HashMap<>();
+        link(handles, PlatformCircuitBreakers.CODEFORCES, user.getCodeforcesUsername());
+        link(handles, PlatformCircuitBreakers.ATCODER, user.getAtcoderUsername());
+        link(handles, PlatformCircuitBreakers.CODECHEF, user.getCodechefUsername());
+        link(handles, PlatformCircuitBreakers.LEETCODE, user.getLeetcodeUsername());
+        handles = Map.copyOf(handles);
+        if (cache != null) {
+            cache.put(username, handles);
+        }
+        return handles;
+    }
+
+    // Handles are case-insensitive on every platform, so "Tourist" and "tourist" share a cache entry
+    public static String key(String handle) {
+        return handle == null ? null : handle.trim().toLowerCase();
+    }
+
+    private static void link(Map<String, String> handles, String platform, String handle) {
+        if (handle != null && !handle.trim().isEmpty()) {
+            handles.put(platform, handle.trim());
+        }
+    }
+}
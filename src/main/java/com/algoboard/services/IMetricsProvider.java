@@ -0,0 +1,10 @@
+package com.algoboard.services;
+
+import java.util.Map;
+
+// Implemented by components that publish runtime counters on /api/metrics
+public interface IMetricsProvider {
+    public String getMetricsName();
+
+    public Map<String, Object> getMetrics();
+}
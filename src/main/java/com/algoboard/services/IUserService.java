@@ -5,10 +5,9 @@ import com.algoboard.entities.Codeforces;
 import com.algoboard.entities.Codechef;
 import com.algoboard.entities.Leetcode;
 import com.algoboard.entities.User;
-import com.algoboard.DTO.ContestDTO;
+import com.algoboard.DTO.ActivityDTO;
 
 import java.util.Map;
-import java.util.List;
 
 import com.algoboard.DTO.RequestDTO.UserProfile;
 
@@ -38,8 +37,6 @@ public interface IUserService {
     public boolean addCPProfiles(String username, String codeforcesId, String atcoderId, String codechefId,
             String leetcodeId);
 
-    public List<ContestDTO> getContestList();
-
     public Codeforces getCodeforcesProfile(String username);
 
     public Atcoder getAtcoderProfile(String username);
@@ -48,6 +45,8 @@ public interface IUserService {
 
     public Leetcode getLeetcodeProfile(String username);
 
+    public ActivityDTO getActivity(String username, int days);
+
     public Codeforces fetchCodeforcesProfile(String cfusername);
 
     public Atcoder fetchAtcoderProfile(String atcusername);
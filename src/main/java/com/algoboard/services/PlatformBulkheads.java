@@ -0,0 +1,111 @@
+package com.algoboard.services;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency bulkheads, one per upstream platform call site. A call waits at
+ * most max-wait for a permit and gets the fallback otherwise, so a slow
+ * platform only ever ties up its own max-concurrent threads.
+ * Limits are read from app.bulkhead.{name}.max-concurrent / .max-wait-ms.
+ */
+@Component
+public class PlatformBulkheads implements IMetricsProvider {
+    public static final String CODEFORCES_PROFILE = "codeforcesProfile";
+    public static final String ATCODER_PROFILE = "atcoderProfile";
+    public static final String CODECHEF_PROFILE = "codechefProfile";
+    public static final String LEETCODE_PROFILE = "leetcodeProfile";
+    public static final String CODEFORCES_CONTESTS = "codeforcesContests";
+    public static final String ATCODER_CONTESTS = "atcoderContests";
+    public static final String CODECHEF_CONTESTS = "codechefContests";
+    public static final String LEETCODE_CONTESTS = "leetcodeContests";
+
+    private static final int DEFAULT_MAX_CONCURRENT = 16;
+    private static final long DEFAULT_MAX_WAIT_MILLIS = 1000;
+
+    private final Environment environment;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public PlatformBulkheads(Environment environment) {
+        this.environment = environment;
+    }
+
+    private static final class Bulkhead {
+        private final int maxConcurrent;
+        private final long maxWaitMillis;
+        private final Semaphore permits;
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Bulkhead(int maxConcurrent, long maxWaitMillis) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMillis = maxWaitMillis;
+            this.permits = new Semaphore(maxConcurrent, true);
+        }
+    }
+
+    public <T> T execute(String name, Supplier<T> call, Supplier<T> fallback) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(name, this::create);
+        try {
+            if (!bulkhead.permits.tryAcquire(bulkhead.maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                bulkhead.rejected.incrementAndGet();
+                System.out.println("Bulkhead " + name + " is saturated, serving fallback");
+                return fallback.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            bulkhead.rejected.incrementAndGet();
+            return fallback.get();
+        }
+        try {
+            return call.get();
+        } finally {
+            bulkhead.permits.release();
+            bulkhead.completed.incrementAndGet();
+        }
+    }
+
+    public void run(String name, Runnable call) {
+        execute(name, () -> {
+            call.run();
+            return null;
+        }, () -> null);
+    }
+
+    private Bulkhead create(String name) {
+        int maxConcurrent = environment.getProperty("app.bulkhead." + name + ".max-concurrent", Integer.class,
+                DEFAULT_MAX_CONCURRENT);
+        long maxWaitMillis = environment.getProperty("app.bulkhead." + name + ".max-wait-ms", Long.class,
+                DEFAULT_MAX_WAIT_MILLIS);
+        return new Bulkhead(Math.max(1, maxConcurrent), Math.max(0, maxWaitMillis));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "bulkheads";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        bulkheads.forEach((name, bulkhead) -> {
+            Map<String, Object> bulkheadMetrics = new LinkedHashMap<>();
+            bulkheadMetrics.put("maxConcurrent", bulkhead.maxConcurrent);
+            bulkheadMetrics.put("inFlight", bulkhead.maxConcurrent - bulkhead.permits.availablePermits());
+            bulkheadMetrics.put("waiting", bulkhead.permits.getQueueLength());
+            bulkheadMetrics.put("completed", bulkhead.completed.get());
+            bulkheadMetrics.put("rejected", bulkhead.rejected.get());
+            metrics.put(name, bulkheadMetrics);
+        });
+        return metrics;
+    }
+}
@@ -0,0 +1,124 @@
+package com.algoboard.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One circuit breaker per upstream platform. After a run of consecutive
+ * failures the platform is not called at all for a cool-down window; then a
+ * single trial call decides whether it closes again or re-opens.
+ */
+@Component
+public class PlatformCircuitBreakers implements IMetricsProvider {
+    public static final String CODEFORCES = "codeforces";
+    public static final String ATCODER = "atcoder";
+    public static final String CODECHEF = "codechef";
+    public static final String LEETCODE = "leetcode";
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long coolDownMillis;
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    public PlatformCircuitBreakers(
+            @Value("${app.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.circuit-breaker.cool-down-ms:60000}") long coolDownMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.coolDownMillis = coolDownMillis;
+    }
+
+    // Guarded by itself
+    private static final class Breaker {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean trialInFlight;
+        private long rejected;
+        private long trips;
+    }
+
+    // Whether a call to the platform may go out now
+    public boolean allowRequest(String platform) {
+        Breaker breaker = breakers.computeIfAbsent(platform, k -> new Breaker());
+        synchronized (breaker) {
+            if (breaker.state == State.OPEN && System.currentTimeMillis() - breaker.openedAt >= coolDownMillis) {
+                breaker.state = State.HALF_OPEN;
+                breaker.trialInFlight = false;
+            }
+            if (breaker.state == State.CLOSED) {
+                return true;
+            }
+            if (breaker.state == State.HALF_OPEN && !breaker.trialInFlight) {
+                breaker.trialInFlight = true;
+                return true;
+            }
+            breaker.rejected++;
+            return false;
+        }
+    }
+
+    public void recordSuccess(String platform) {
+        Breaker breaker = breakers.computeIfAbsent(platform, k -> new Breaker());
+        synchronized (breaker) {
+            breaker.state = State.CLOSED;
+            breaker.consecutiveFailures = 0;
+            breaker.trialInFlight = false;
+        }
+    }
+
+    // A call that never reached the platform: the state stays, a half-open trial is handed back
+    public void recordIgnored(String platform) {
+        Breaker breaker = breakers.computeIfAbsent(platform, k -> new Breaker());
+        synchronized (breaker) {
+            breaker.trialInFlight = false;
+        }
+    }
+
+    public void recordFailure(String platform) {
+        Breaker breaker = breakers.computeIfAbsent(platform, k -> new Breaker());
+        synchronized (breaker) {
+            breaker.consecutiveFailures++;
+            if (breaker.state == State.HALF_OPEN || breaker.consecutiveFailures >= failureThreshold) {
+                if (breaker.state != State.OPEN) {
+                    breaker.trips++;
+                    System.out.println("Circuit breaker for " + platform + " opened after "
+                            + breaker.consecutiveFailures + " consecutive failures");
+                }
+                breaker.state = State.OPEN;
+                breaker.openedAt = System.currentTimeMillis();
+                breaker.trialInFlight = false;
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "circuitBreakers";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        breakers.forEach((platform, breaker) -> {
+            synchronized (breaker) {
+                Map<String, Object> breakerMetrics = new LinkedHashMap<>();
+                breakerMetrics.put("state", breaker.state.name());
+                breakerMetrics.put("consecutiveFailures", breaker.consecutiveFailures);
+                breakerMetrics.put("trips", breaker.trips);
+                breakerMetrics.put("rejected", breaker.rejected);
+                metrics.put(platform, breakerMetrics);
+            }
+        });
+        return metrics;
+    }
+}
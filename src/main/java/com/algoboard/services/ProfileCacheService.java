@@ -0,0 +1,312 @@
+package com.algoboard.services;
+
+import com.algoboard.entities.FetchOutcome;
+import com.algoboard.entities.Platforms;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through access to the platform profile caches with per-entry
+ * refresh-ahead. Every entry gets its own randomized lifetime (the cache TTL
+ * +/- app.cache.ttl-jitter) so entries loaded together do not expire
+ * together. A read during the last app.cache.refresh-ahead fraction of that
+ * lifetime hands a reload to the background executor and keeps serving the
+ * current value; only entries nobody reads near the end of their life expire
+ * and cost a user-facing miss.
+ *
+ * Loads are single-flight per key: whoever misses first runs the fetch, every
+ * other caller for the same key (or a background refresh) waits on that
+ * fetch's future for at most app.cache.single-flight-wait-ms instead of
+ * starting its own.
+ *
+ * How long a result is kept depends on its FetchOutcome: FOUND for the cache
+ * TTL, NOT_FOUND for the short app.cache.negative-ttl-minutes, and an error
+ * (served as the stale snapshot) only until the key's next retry, which backs
+ * off exponentially while the platform keeps failing. An error never
+ * replaces a value that is still cached.
+ */
+@Service
+public class ProfileCacheService implements IMetricsProvider {
+    private static final long DEFAULT_TTL_MINUTES = 60;
+    private static final long DEFAULT_NEGATIVE_TTL_MINUTES = 5;
+    // Failure counts kept for backoff; past this many failing keys they are all forgotten
+    private static final int MAX_TRACKED_FAILURES = 10000;
+
+    private final CacheManager cacheManager;
+    private final ThreadPoolTaskExecutor backgroundRefreshExecutor;
+    private final Environment environment;
+    private final double ttlJitter;
+    private final double refreshAhead;
+    private final long singleFlightWaitMillis;
+    private final long negativeTtlMillis;
+    private final long errorBackoffMillis;
+    private final long errorBackoffMaxMillis;
+    // Consecutive failed fetches per cacheName:key, cleared by the next good or not-found answer
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+    // One future per cacheName:key being loaded right now
+    private final Map<String, CompletableFuture<Platforms>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong refreshesSkipped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong waitTimeouts = new AtomicLong();
+    private final AtomicLong negativeEntries = new AtomicLong();
+    private final AtomicLong errorEntries = new AtomicLong();
+
+    public ProfileCacheService(CacheManager cacheManager,
+            @Qualifier("backgroundRefreshExecutor") ThreadPoolTaskExecutor backgroundRefreshExecutor,
+            Environment environment) {
+        this.cacheManager = cacheManager;
+        this.backgroundRefreshExecutor = backgroundRefreshExecutor;
+        this.environment = environment;
+        this.ttlJitter = Math.min(0.9,
+                Math.max(0, environment.getProperty("app.cache.ttl-jitter", Double.class, 0.2)));
+        this.refreshAhead = Math.min(0.9,
+                Math.max(0, environment.getProperty("app.cache.refresh-ahead", Double.class, 0.2)));
+        this.singleFlightWaitMillis = environment.getProperty("app.cache.single-flight-wait-ms", Long.class, 15000L);
+        this.negativeTtlMillis = environment.getProperty("app.cache.negative-ttl-minutes", Long.class,
+                DEFAULT_NEGATIVE_TTL_MINUTES) * 60000;
+        this.errorBackoffMillis = environment.getProperty("app.cache.error-backoff-ms", Long.class, 30000L);
+        this.errorBackoffMaxMillis = environment.getProperty("app.cache.error-backoff-max-ms", Long.class, 900000L);
+    }
+
+    // What the profile caches hold: the profile plus when it expires and when a reload becomes due
+    public static final class CachedProfile {
+        private final Platforms profile;
+        private final long expiresAt;
+        private volatile long refreshAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CachedProfile(Platforms profile, long expiresAt, long refreshAt) {
+            this.profile = profile;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+
+        public Platforms getProfile() {
+            return profile;
+        }
+
+        // Epoch millis, the cache drops the entry then
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    // The cached profile for key, loading it on a miss; getOutcome() tells found, not found and failed apart
+    public <T extends Platforms> T get(String cacheName, String key, Supplier<T> loader) {
+        return get(cacheName, key, loader, loader);
+    }
+
+    // As above, with refresh-ahead reloads going through refresher, e.g. a fetch in a lower-priority lane
+    @SuppressWarnings("unchecked")
+    public <T extends Platforms> T get(String cacheName, String key, Supplier<T> loader, Supplier<T> refresher) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        CachedProfile cached = live(cache, key);
+        if (cached != null) {
+            refreshIfDue(cache, cacheName, key, cached, refresher);
+            return (T) cached.profile;
+        }
+        String flightKey = cacheName + ":" + key;
+        CompletableFuture<Platforms> flight = new CompletableFuture<>();
+        CompletableFuture<Platforms> running = inFlight.putIfAbsent(flightKey, flight);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return (T) await(running, flightKey);
+        }
+        // A load that finished between our miss and the putIfAbsent has already stored its value
+        cached = live(cache, key);
+        if (cached != null) {
+            flight.complete(cached.profile);
+            inFlight.remove(flightKey, flight);
+            return (T) cached.profile;
+        }
+        loads.incrementAndGet();
+        return load(cache, cacheName, key, loader, flight, flightKey, false);
+    }
+
+    // The cached entry for key unless it is missing or past its deadline
+    private static CachedProfile live(Cache cache, String key) {
+        Cache.ValueWrapper wrapper = cache.get(key);
+        if (wrapper != null && wrapper.get() instanceof CachedProfile cached
+                && cached.expiresAt > System.currentTimeMillis()) {
+            return cached;
+        }
+        return null;
+    }
+
+    /*
+     * Runs the fetch this thread owns; the value is cached before waiters are
+     * released and the flight is removed. A refresh keeps the current entry
+     * when the fetch failed.
+     */
+    private <T extends Platforms> T load(Cache cache, String cacheName, String key, Supplier<T> loader,
+            CompletableFuture<Platforms> flight, String flightKey, boolean refresh) {
+        try {
+            T profile = loader.get();
+            if (!refresh || !outcomeOf(profile).isError()) {
+                store(cache, cacheName, key, profile, flightKey);
+            }
+            flight.complete(profile);
+            return profile;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Platforms await(CompletableFuture<Platforms> running, String flightKey) {
+        try {
+            return running.get(singleFlightWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            waitTimeouts.incrementAndGet();
+            throw new IllegalStateException("Timed out waiting for " + flightKey + " to load, try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + flightKey + " to load");
+        } catch (ExecutionException e) {
+            // Waiters see the same failure as the caller that ran the fetch, e.g. user not found
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Loading " + flightKey + " failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private <T extends Platforms> void refreshIfDue(Cache cache, String cacheName, String key, CachedProfile cached,
+            Supplier<T> refresher) {
+        if (System.currentTimeMillis() < cached.refreshAt || !cached.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        // A full queue would make the reading thread run the reload itself, which is the miss we are avoiding
+        if (backgroundRefreshExecutor.getThreadPoolExecutor().getQueue().remainingCapacity() == 0) {
+            refreshesSkipped.incrementAndGet();
+            cached.refreshing.set(false);
+            return;
+        }
+        refreshes.incrementAndGet();
+        backgroundRefreshExecutor.execute(() -> {
+            String flightKey = cacheName + ":" + key;
+            CompletableFuture<Platforms> flight = new CompletableFuture<>();
+            // Someone is already loading this key, their result replaces the entry
+            if (inFlight.putIfAbsent(flightKey, flight) != null) {
+                cached.refreshing.set(false);
+                return;
+            }
+            FetchOutcome outcome;
+            try {
+                outcome = outcomeOf(load(cache, cacheName, key, refresher, flight, flightKey, true));
+                if (!outcome.isError()) {
+                    return;
+                }
+            } catch (Exception e) {
+                outcome = FetchOutcome.UPSTREAM_ERROR;
+                System.out.println("Background refresh of " + cacheName + " " + key + " failed: " + e.getMessage());
+            }
+            // The current value keeps serving until it expires, the next attempt waits out the backoff
+            refreshFailures.incrementAndGet();
+            cached.refreshAt = System.currentTimeMillis() + errorBackoff(flightKey, outcome);
+            cached.refreshing.set(false);
+        });
+    }
+
+    private void store(Cache cache, String cacheName, String key, Platforms profile, String flightKey) {
+        if (profile == null) {
+            return;
+        }
+        FetchOutcome outcome = outcomeOf(profile);
+        long now = System.currentTimeMillis();
+        if (outcome.isError()) {
+            // Nothing better is cached; answer with the snapshot until the next retry instead of hitting the platform
+            errorEntries.incrementAndGet();
+            cache.put(key, new CachedProfile(profile, now + errorBackoff(flightKey, outcome), Long.MAX_VALUE));
+            return;
+        }
+        failures.remove(flightKey);
+        if (outcome == FetchOutcome.NOT_FOUND) {
+            negativeEntries.incrementAndGet();
+            cache.put(key, new CachedProfile(profile, now + jittered(negativeTtlMillis), Long.MAX_VALUE));
+            return;
+        }
+        long ttlMillis = environment.getProperty("app.cache." + cacheName + ".ttl-minutes", Long.class,
+                DEFAULT_TTL_MINUTES) * 60000;
+        long lifetime = jittered(ttlMillis);
+        cache.put(key, new CachedProfile(profile, now + lifetime, now + (long) (lifetime * (1 - refreshAhead))));
+    }
+
+    // Doubles with every consecutive failure of the key, rate limiting starts one step further
+    private long errorBackoff(String flightKey, FetchOutcome outcome) {
+        if (failures.size() >= MAX_TRACKED_FAILURES) {
+            failures.clear();
+        }
+        int attempts = failures.merge(flightKey, 1, Integer::sum);
+        if (outcome == FetchOutcome.RATE_LIMITED) {
+            attempts++;
+        }
+        long delay = errorBackoffMillis << Math.min(attempts - 1, 20);
+        return jittered(Math.min(delay, errorBackoffMaxMillis));
+    }
+
+    private long jittered(long millis) {
+        double factor = 1 + (ttlJitter == 0 ? 0 : ThreadLocalRandom.current().nextDouble(-ttlJitter, ttlJitter));
+        return (long) (millis * factor);
+    }
+
+    // Profiles built outside ProfileFetchingService carry no outcome, judge them by their content
+    private static FetchOutcome outcomeOf(Platforms profile) {
+        if (profile == null) {
+            return FetchOutcome.UPSTREAM_ERROR;
+        }
+        if (profile.getOutcome() != null) {
+            return profile.getOutcome();
+        }
+        if (profile.isStale()) {
+            return FetchOutcome.UPSTREAM_ERROR;
+        }
+        return profile.getUsername() != null ? FetchOutcome.FOUND : FetchOutcome.NOT_FOUND;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "profileCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("loads", loads.get());
+        metrics.put("refreshes", refreshes.get());
+        metrics.put("refreshFailures", refreshFailures.get());
+        metrics.put("refreshesSkipped", refreshesSkipped.get());
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("coalesced", coalesced.get());
+        metrics.put("waitTimeouts", waitTimeouts.get());
+        metrics.put("negativeEntries", negativeEntries.get());
+        metrics.put("errorEntries", errorEntries.get());
+        metrics.put("failingKeys", failures.size());
+        return metrics;
+    }
+}
@@ -3,137 +3,234 @@ package com.algoboard.services;
 import com.algoboard.entities.Leetcode;
 import com.algoboard.entities.Codechef;
 import com.algoboard.entities.Codeforces;
+import com.algoboard.entities.CodeforcesSyncState;
 import com.algoboard.entities.Atcoder;
+import com.algoboard.entities.FetchOutcome;
+import com.algoboard.entities.Platforms;
 import com.algoboard.entities.UserContestHistory;
 import com.algoboard.entities.Leetcode.Level;
 import com.algoboard.entities.Leetcode.Problem;
 import com.algoboard.DTO.Atcoder.AC_ContestDTO;
 import com.algoboard.DTO.Codechef.CC_ContestDTO;
-import com.algoboard.DTO.Codeforces.CF_ContestHistoryDTO;
-import com.algoboard.DTO.Codeforces.CF_SubmissionsDTO;
 import com.algoboard.DTO.Codeforces.CF_UserDTO;
 import com.algoboard.DTO.Leetcode.LC_ContestDTO;
 import com.algoboard.DTO.Leetcode.LC_UserDTO;
 import com.algoboard.DTO.Leetcode.LC_ContestDTO.ContestHistory;
 import com.algoboard.DTO.Leetcode.LC_UserDTO.RecentSubmission;
 import com.algoboard.DTO.Leetcode.LC_UserDTO.SubmissionStat;
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
-import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.HashSet;
 
 @Service
 public class ProfileFetchingService {
+    // Time a Codeforces call gets once it is through the rate limiter
+    private static final long CODEFORCES_CALL_MILLIS = 10000;
 
     private final RestTemplate restTemplate;
-
-    public ProfileFetchingService() {
-        this.restTemplate = new RestTemplate();
+    private final CodeforcesSyncService codeforcesSyncService;
+    private final CodeforcesUserInfoBatcher codeforcesUserInfoBatcher;
+    private final CodeforcesRatingSyncService codeforcesRatingSyncService;
+    private final CodeforcesProblemCatalog codeforcesProblemCatalog;
+    private final ActivityCalendarService activityCalendarService;
+    private final Executor upstreamCallExecutor;
+    private final PlatformBulkheads platformBulkheads;
+    private final PlatformCircuitBreakers platformCircuitBreakers;
+    private final ProfileSnapshotService profileSnapshotService;
+
+    public ProfileFetchingService(RestTemplate restTemplate, CodeforcesSyncService codeforcesSyncService,
+            CodeforcesUserInfoBatcher codeforcesUserInfoBatcher,
+            CodeforcesRatingSyncService codeforcesRatingSyncService,
+            CodeforcesProblemCatalog codeforcesProblemCatalog, ActivityCalendarService activityCalendarService,
+            @Qualifier("upstreamCallExecutor") Executor upstreamCallExecutor, PlatformBulkheads platformBulkheads,
+            PlatformCircuitBreakers platformCircuitBreakers, ProfileSnapshotService profileSnapshotService) {
+        this.restTemplate = restTemplate;
+        this.upstreamCallExecutor = upstreamCallExecutor;
+        this.platformBulkheads = platformBulkheads;
+        this.platformCircuitBreakers = platformCircuitBreakers;
+        this.profileSnapshotService = profileSnapshotService;
+        this.codeforcesSyncService = codeforcesSyncService;
+        this.codeforcesUserInfoBatcher = codeforcesUserInfoBatcher;
+        this.codeforcesRatingSyncService = codeforcesRatingSyncService;
+        this.codeforcesProblemCatalog = codeforcesProblemCatalog;
+        this.activityCalendarService = activityCalendarService;
     }
 
-    // Fetch and aggregate Codeforces profile data
+    // Fetch and aggregate Codeforces profile data for a user waiting on the response
     public Codeforces fetchCodeforcesProfile(String username) {
-        String profileUrl = "https://codeforces.com/api/user.info?handles=" + username;
-        String contestUrl = "https://codeforces.com/api/user.rating?handle=" + username;
-        try {
-            // Execute API calls in parallel
-            CompletableFuture<CF_UserDTO> profileFuture = CompletableFuture
-                    .supplyAsync(() -> restTemplate.getForObject(profileUrl, CF_UserDTO.class));
-            CompletableFuture<CF_ContestHistoryDTO> contestFuture = CompletableFuture
-                    .supplyAsync(() -> restTemplate.getForObject(contestUrl, CF_ContestHistoryDTO.class));
+        return fetchCodeforcesProfile(username, Priority.INTERACTIVE);
+    }
 
-            // Wait for both API calls to complete with timeout
-            CF_UserDTO profileResponse = profileFuture.get(10, TimeUnit.SECONDS);
-            CF_ContestHistoryDTO contestResponse = contestFuture.get(10, TimeUnit.SECONDS);
+    // Fetch and aggregate Codeforces profile data, calls are queued in the given rate-limit lane
+    public Codeforces fetchCodeforcesProfile(String username, Priority priority) {
+        return resilientFetch(PlatformCircuitBreakers.CODEFORCES, PlatformBulkheads.CODEFORCES_PROFILE, username,
+                () -> loadCodeforcesProfile(username, priority), Codeforces::new, Codeforces.class);
+    }
 
-            if (profileResponse == null || profileResponse.getStatus().equals("FAILED")) {
-                return new Codeforces();
-            }
-            if (contestResponse == null || contestResponse.getStatus().equals("FAILED")) {
-                return new Codeforces();
+    /**
+     * Runs a profile load behind the platform's bulkhead and circuit breaker
+     * and tags the result with its FetchOutcome. Loads return an empty
+     * profile for handles the platform does not know (NOT_FOUND) and throw on
+     * upstream failures; those failures (UPSTREAM_ERROR, or RATE_LIMITED when
+     * the platform throttled us), an open breaker and a full bulkhead are all
+     * answered with the last good snapshot flagged as stale, so the empty
+     * result never replaces real data in the caches. A call our own rate
+     * limiter never let out says nothing about the platform and is not
+     * counted against its breaker.
+     */
+    private <T extends Platforms> T resilientFetch(String platform, String bulkheadName, String username,
+            Supplier<T> load, Supplier<T> empty, Class<T> type) {
+        Supplier<T> fallback = () -> staleProfile(platform, username, empty, type, FetchOutcome.UPSTREAM_ERROR);
+        return platformBulkheads.execute(bulkheadName, () -> {
+            if (!platformCircuitBreakers.allowRequest(platform)) {
+                return fallback.get();
             }
-            long from = 1;
-            long count = 1000;
-            long totalSubmissions = 0;
-            long acceptedSubmissions = 0;
-            Set<AbstractMap.SimpleEntry<Long, String>> problemSet = new HashSet<>();
-            List<Codeforces.Problem> recentSubmissions = new ArrayList<>();
-
-            while (true) {
-                String submissionsUrl = "https://codeforces.com/api/user.status?handle=" + username + "&from=" + from
-                        + "&count=" + count;
-                CF_SubmissionsDTO submissionsResponse = restTemplate.getForObject(submissionsUrl,
-                        CF_SubmissionsDTO.class);
-                if (submissionsResponse == null || !Objects.equals(submissionsResponse.getStatus(), "OK")) {
-                    break;
-                }
-                totalSubmissions += submissionsResponse.getResult().size();
-                for (CF_SubmissionsDTO.Result submission : submissionsResponse.getResult()) {
-                    if (submission.getVerdict().equals("OK")) {
-                        acceptedSubmissions++;
-                    }
-                    problemSet.add(new AbstractMap.SimpleEntry<>(
-                            submission.getProblem().getContestId(),
-                            submission.getProblem().getIndex()));
-                    if (recentSubmissions.size() < 10) {
-                        // last 10 submissions
-                        recentSubmissions.add(new Codeforces.Problem(
-                                submission.getProblem().getContestId(),
-                                submission.getProblem().getIndex(),
-                                submission.getProblem().getName(),
-                                submission.getVerdict()));
-                    }
-                }
-                if (submissionsResponse.getResult().size() < count) {
-                    break;
+            T profile;
+            try {
+                profile = load.get();
+            } catch (Exception e) {
+                System.out.println("Failed to fetch " + platform + " profile for " + username + ": " + e.getMessage());
+                if (isLocallyThrottled(e)) {
+                    platformCircuitBreakers.recordIgnored(platform);
+                } else {
+                    platformCircuitBreakers.recordFailure(platform);
                 }
-                from += count;
+                return staleProfile(platform, username, empty, type, failureOutcome(e));
             }
-            CF_UserDTO.Result result = profileResponse.getResult().get(0);
-            java.util.List<CF_ContestHistoryDTO.Result> contestResults = contestResponse.getResult();
-            List<UserContestHistory> contestHistory = new ArrayList<>();
-            if (contestResults != null) {
-                for (CF_ContestHistoryDTO.Result contestResult : contestResults) {
-                    contestHistory.add(new UserContestHistory(
-                            Long.toString(contestResult.getContestId()),
-                            contestResult.getContestName(),
-                            contestResult.getRank(),
-                            contestResult.getOldRating(),
-                            contestResult.getNewRating()));
-                }
+            platformCircuitBreakers.recordSuccess(platform);
+            if (profile.getUsername() != null) {
+                profileSnapshotService.save(platform, username, profile);
+                profile.setOutcome(FetchOutcome.FOUND);
+            } else {
+                profile.setOutcome(FetchOutcome.NOT_FOUND);
+            }
+            return profile;
+        }, fallback);
+    }
 
-                // Reverse the contest history array
-                java.util.Collections.reverse(contestHistory);
+    private <T extends Platforms> T staleProfile(String platform, String username, Supplier<T> empty,
+            Class<T> type, FetchOutcome outcome) {
+        T profile = profileSnapshotService.find(platform, username, type);
+        if (profile == null) {
+            profile = empty.get();
+        }
+        profile.setStale(true);
+        profile.setOutcome(outcome);
+        return profile;
+    }
+
+    // A 4xx from the platform means the handle does not exist there, except a 429 which means slow down
+    private static boolean isClientError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientErrorException clientError) {
+                return clientError.getStatusCode().value() != 429;
             }
-            return new Codeforces(
+        }
+        return false;
+    }
+
+    private static FetchOutcome failureOutcome(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RateLimitedException) {
+                return FetchOutcome.RATE_LIMITED;
+            }
+            if (cause instanceof HttpStatusCodeException statusError && statusError.getStatusCode().value() == 429) {
+                return FetchOutcome.RATE_LIMITED;
+            }
+        }
+        return FetchOutcome.UPSTREAM_ERROR;
+    }
+
+    // Our limiter timed out before the call went out; a throttled upstream answer carries its HTTP error as the cause
+    private static boolean isLocallyThrottled(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RateLimitedException) {
+                return cause.getCause() == null;
+            }
+        }
+        return false;
+    }
+
+    // Unwraps a failed future so the breaker sees the real upstream error
+    private static RuntimeException upstreamFailure(Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+    }
+
+    private Codeforces loadCodeforcesProfile(String username, Priority priority) {
+        try {
+            // Execute API calls in parallel, user.info is batched with other concurrent lookups
+            CompletableFuture<CF_UserDTO.Result> profileFuture = codeforcesUserInfoBatcher.lookup(username, priority);
+            // Rating history is kept current by the post-contest job, user.rating is only hit when it is stale
+            CompletableFuture<List<UserContestHistory>> contestFuture = CompletableFuture
+                    .supplyAsync(() -> codeforcesRatingSyncService.getRatingHistory(username, priority),
+                            upstreamCallExecutor);
+
+            // The limiter gives up before we do, so a saturated limiter surfaces as RATE_LIMITED, not a timeout
+            long waitMillis = CodeforcesApiClient.limiterWaitMillis(priority) + CODEFORCES_CALL_MILLIS;
+            CF_UserDTO.Result result = profileFuture.get(waitMillis, TimeUnit.MILLISECONDS);
+            List<UserContestHistory> contestHistory = contestFuture.get(waitMillis, TimeUnit.MILLISECONDS);
+
+            if (result == null) {
+                return new Codeforces();
+            }
+            if (contestHistory == null) {
+                return new Codeforces();
+            }
+            // Only the submissions made since the last sync are pulled from user.status
+            CodeforcesSyncState submissions = codeforcesSyncService.sync(username, priority);
+            Codeforces codeforcesProfile = new Codeforces(
                     username,
                     result.getRank(),
                     result.getRating(),
                     result.getMaxRating(),
                     result.getMaxRank(),
-                    problemSet.size(),
-                    totalSubmissions,
-                    acceptedSubmissions,
+                    submissions.getProblemKeys().length,
+                    submissions.getTotalSubmissions(),
+                    submissions.getAcceptedSubmissions(),
                     contestHistory.size(),
                     contestHistory,
-                    recentSubmissions);
+                    submissions.getRecentSubmissions());
+
+            CodeforcesProblemCatalog.Histogram histogram = codeforcesProblemCatalog
+                    .histogram(submissions.getAcceptedProblemKeys());
+            if (histogram != null) {
+                codeforcesProfile.setSolvedByRating(histogram.getByRating());
+                codeforcesProfile.setSolvedByTag(histogram.getByTag());
+            }
+            return codeforcesProfile;
         } catch (Exception e) {
-            return new Codeforces();
+            if (isClientError(e)) {
+                return new Codeforces();
+            }
+            throw upstreamFailure(e);
         }
     }
 
     // Fetch and aggregate Atcoder profile data
     public Atcoder fetchAtcoderProfile(String username) {
+        return resilientFetch(PlatformCircuitBreakers.ATCODER, PlatformBulkheads.ATCODER_PROFILE, username,
+                () -> loadAtcoderProfile(username), Atcoder::new, Atcoder.class);
+    }
+
+    private Atcoder loadAtcoderProfile(String username) {
         String url = "https://atcoder.jp/users/" + username + "/history/json";
 
         try {
@@ -177,7 +274,10 @@ public class ProfileFetchingService {
                     maxRank,
                     contestParticipations,
                     history);
-        } catch (Exception e) {
+        } catch (HttpClientErrorException e) {
+            if (!isClientError(e)) {
+                throw e;
+            }
             return new Atcoder();
         }
     }
@@ -235,6 +335,11 @@ public class ProfileFetchingService {
     
     // Fetch and aggregate Codechef profile data
     public Codechef fetchCodechefProfile(String username) {
+        return resilientFetch(PlatformCircuitBreakers.CODECHEF, PlatformBulkheads.CODECHEF_PROFILE, username,
+                () -> loadCodechefProfile(username), Codechef::new, Codechef.class);
+    }
+
+    private Codechef loadCodechefProfile(String username) {
         String ccurl = "https://clist.by/account/" + username + "/resource/codechef.com/ratings/?resource=codechef.com";
         Codechef codechefProfile = new Codechef();
         try {
@@ -269,7 +374,10 @@ public class ProfileFetchingService {
                 codechefProfile.setRank(getCodechefRankByRating(currentRating));
                 codechefProfile.setMaxRank(getCodechefRankByRating(maxRating));
             }
-        } catch (Exception e) {
+        } catch (HttpClientErrorException e) {
+            if (!isClientError(e)) {
+                throw e;
+            }
             return new Codechef();
         }
         return codechefProfile;
@@ -295,6 +403,11 @@ public class ProfileFetchingService {
     
     // Fetch and aggregate Leetcode profile data
     public Leetcode fetchLeetcodeProfile(String username) {
+        return resilientFetch(PlatformCircuitBreakers.LEETCODE, PlatformBulkheads.LEETCODE_PROFILE, username,
+                () -> loadLeetcodeProfile(username), Leetcode::new, Leetcode.class);
+    }
+
+    private Leetcode loadLeetcodeProfile(String username) {
         String lcuserurl = "https://leetcode-stats.tashif.codes/" + username + "/profile";
         String lccontesturl = "https://leetcode-stats.tashif.codes/" + username + "/contests";
 
@@ -305,35 +418,49 @@ public class ProfileFetchingService {
                         try {
                             LC_UserDTO response = restTemplate.getForObject(lcuserurl, LC_UserDTO.class);
                             return response;
-                        } catch (Exception e) {
+                        } catch (HttpClientErrorException e) {
+                            if (!isClientError(e)) {
+                                throw e;
+                            }
                             return null;
                         }
-                    });
+                    }, upstreamCallExecutor);
 
             CompletableFuture<LC_ContestDTO> contestFuture = CompletableFuture
                     .supplyAsync(() -> {
                         try {
                             LC_ContestDTO response = restTemplate.getForObject(lccontesturl, LC_ContestDTO.class);
                             return response;
-                        } catch (Exception e) {
+                        } catch (HttpClientErrorException e) {
+                            if (!isClientError(e)) {
+                                throw e;
+                            }
                             return null;
                         }
-                    });
+                    }, upstreamCallExecutor);
 
             // Wait for both API calls to complete with timeout protection
             LC_UserDTO userProfileResponse = null;
             LC_ContestDTO contestResponse = null;
+            Exception upstreamError = null;
 
             try {
                 userProfileResponse = userProfileFuture.get(10, TimeUnit.SECONDS);
             } catch (Exception e) {
                 System.out.println("LeetCode profile API timeout or error for " + username + ": " + e.getMessage());
+                upstreamError = e;
             }
 
             try {
                 contestResponse = contestFuture.get(10, TimeUnit.SECONDS);
             } catch (Exception e) {
                 System.out.println("LeetCode contest API timeout or error for " + username + ": " + e.getMessage());
+                upstreamError = e;
+            }
+
+            // A half-built profile would overwrite the last good one, let the snapshot answer instead
+            if (upstreamError != null) {
+                throw upstreamFailure(upstreamError);
             }
 
             // Check if we got valid responses
@@ -396,6 +523,13 @@ public class ProfileFetchingService {
                 leetcodeProfile.setTotalSubmissions(totalSubmissions);
                 leetcodeProfile.setAcceptedSubmissions(acceptedSubmissions);
                 leetcodeProfile.setRecentSubmissions(recentSubmissions);
+
+                try {
+                    activityCalendarService.recordLeetcodeCalendar(username,
+                            userProfileResponse.getSubmissionCalendar());
+                } catch (Exception e) {
+                    System.out.println("Failed to update LeetCode activity for " + username + ": " + e.getMessage());
+                }
             }
 
             if (contestResponse != null && contestResponse.getStatus().equals("success")) {
@@ -429,7 +563,10 @@ public class ProfileFetchingService {
             }
 
             return leetcodeProfile;
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
+            if (!isClientError(e)) {
+                throw e;
+            }
             System.out.println("");
             System.out.println("DETAILED ERROR fetching LeetCode profile for user: " + username + " (LeetCode ID: "
                     + username + ")");
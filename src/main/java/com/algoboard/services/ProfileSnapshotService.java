@@ -0,0 +1,47 @@
+package com.algoboard.services;
+
+import com.algoboard.entities.Platforms;
+import com.algoboard.entities.ProfileSnapshot;
+import com.algoboard.repository.ProfileSnapshotRepository;
+
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+// Last-known-good profile per platform and handle
+@Service
+public class ProfileSnapshotService {
+
+    private final ProfileSnapshotRepository profileSnapshotRepository;
+
+    public ProfileSnapshotService(ProfileSnapshotRepository profileSnapshotRepository) {
+        this.profileSnapshotRepository = profileSnapshotRepository;
+    }
+
+    public void save(String platform, String handle, Platforms profile) {
+        try {
+            profileSnapshotRepository.save(new ProfileSnapshot(snapshotId(platform, handle), platform,
+                    handle.toLowerCase(), profile, LocalDateTime.now()));
+        } catch (Exception e) {
+            System.out.println("Failed to save " + platform + " snapshot for " + handle + ": " + e.getMessage());
+        }
+    }
+
+    // The stored profile, or null if there is none (or it is of another type)
+    public <T extends Platforms> T find(String platform, String handle, Class<T> type) {
+        try {
+            ProfileSnapshot snapshot = profileSnapshotRepository.findById(snapshotId(platform, handle)).orElse(null);
+            if (snapshot == null || !type.isInstance(snapshot.getProfile())) {
+                return null;
+            }
+            return type.cast(snapshot.getProfile());
+        } catch (Exception e) {
+            System.out.println("Failed to read " + platform + " snapshot for " + handle + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String snapshotId(String platform, String handle) {
+        return platform + ":" + handle.toLowerCase();
+    }
+}
@@ -0,0 +1,14 @@
+package com.algoboard.services;
+
+// A platform call that was refused, or never made, because of rate limiting
+public class RateLimitedException extends RuntimeException {
+    // Without a cause: our own limiter gave up and the call was never made
+    public RateLimitedException(String message) {
+        super(message);
+    }
+
+    // With the platform's throttling response as the cause
+    public RateLimitedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,6 @@
 package com.algoboard.services;
 
-import com.algoboard.DTO.ContestDTO;
+import com.algoboard.DTO.ActivityDTO;
 import com.algoboard.entities.Atcoder;
 import com.algoboard.entities.Codeforces;
 import com.algoboard.entities.Codechef;
@@ -8,18 +8,15 @@ import com.algoboard.entities.Leetcode;
 import com.algoboard.entities.User;
 import com.algoboard.repository.UserRepository;
 import com.algoboard.DTO.RequestDTO.UserProfile;
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
 
-import java.util.List;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.cache.annotation.Cacheable;
 import com.mongodb.DuplicateKeyException;
 
 @Service
@@ -30,17 +27,22 @@ public class UserService implements IUserService {
     private final EmailService emailService;
     private final CacheService cacheService;
     private final ProfileFetchingService profileFetchingService;
-    private final ContestFetchingService contestFetchingService;
+    private final ActivityCalendarService activityCalendarService;
+    private final ProfileCacheService profileCacheService;
+    private final HandleDirectory handleDirectory;
 
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, EmailService emailService,
             CacheService cacheService, ProfileFetchingService profileFetchingService,
-            ContestFetchingService contestFetchingService) {
+            ActivityCalendarService activityCalendarService,
+            ProfileCacheService profileCacheService, HandleDirectory handleDirectory) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
         this.cacheService = cacheService;
         this.profileFetchingService = profileFetchingService;
-        this.contestFetchingService = contestFetchingService;
+        this.activityCalendarService = activityCalendarService;
+        this.profileCacheService = profileCacheService;
+        this.handleDirectory = handleDirectory;
         System.out.println("");
         System.out.println("MongoDB is connected.");
         System.out.println("");
@@ -223,6 +225,7 @@ public class UserService implements IUserService {
         User user = userRepository.findByUsername(username);
         if (user != null && passwordEncoder.matches(password, user.getPassword())) {
             userRepository.delete(user);
+            cacheService.evictUserHandles(username);
             return "User deleted successfully.";
         }
         throw new IllegalArgumentException("Invalid username or password.");
@@ -264,18 +267,9 @@ public class UserService implements IUserService {
 
             userRepository.save(user);
 
-            // Clear cache only for platforms that were actually changed
-            if (codeforcesChanged) {
-                cacheService.evictCodeforcesCache(username);
-            }
-            if (atcoderChanged) {
-                cacheService.evictAtcoderCache(username);
-            }
-            if (codechefChanged) {
-                cacheService.evictCodechefCache(username);
-            }
-            if (leetcodeChanged) {
-                cacheService.evictLeetcodeCache(username);
+            // Profiles are cached per handle and stay valid, only the user's handle mapping changed
+            if (codeforcesChanged || atcoderChanged || codechefChanged || leetcodeChanged) {
+                cacheService.evictUserHandles(username);
             }
 
             return true;
@@ -284,123 +278,79 @@ public class UserService implements IUserService {
     }
 
     @Override
-    @Cacheable(value = "contestList", key = "'all_contests'")
-    public List<ContestDTO> getContestList() {
-        List<ContestDTO> allContests = new ArrayList<>();
-
-        // Start all API calls simultaneously - directly populate allContests
-        CompletableFuture<Void> cfFuture = CompletableFuture
-                .runAsync(() -> contestFetchingService.getCodeforcesContestList(allContests));
-        CompletableFuture<Void> ccFuture = CompletableFuture
-                .runAsync(() -> contestFetchingService.getCodechefContestList(allContests));
-        CompletableFuture<Void> acFuture = CompletableFuture
-                .runAsync(() -> contestFetchingService.getAtcoderContestList(allContests));
-        CompletableFuture<Void> lcFuture = CompletableFuture
-                .runAsync(() -> contestFetchingService.getLeetcodeContestList(allContests));
-
-        // Wait for all API calls to complete with timeout protection
-        try {
-            cfFuture.get(8, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            System.out.println("Codeforces API timeout or error: " + e.getMessage());
-        }
-
-        try {
-            ccFuture.get(8, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            System.out.println("CodeChef API timeout or error: " + e.getMessage());
-        }
-
-        try {
-            acFuture.get(8, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            System.out.println("AtCoder API timeout or error: " + e.getMessage());
-        }
-
-        try {
-            lcFuture.get(8, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            System.out.println("LeetCode API timeout or error: " + e.getMessage());
-        }
-
-        // Sort contests by priority: Live → Upcoming → Finished
-        allContests.sort(contestFetchingService::compareContestsByPriority);
-        return allContests;
-    }
-
-    @Override
-    @Cacheable(value = "codeforcesProfile", key = "#username")
     public Codeforces getCodeforcesProfile(String username) {
-        if (userRepository.findByUsername(username) == null) {
-            throw new IllegalArgumentException("User not found with username: " + username);
-        }
-        String cfid = userRepository.findByUsername(username).getCodeforcesUsername();
-        if (cfid == null || cfid.isEmpty()) {
+        String handle = handleDirectory.getHandle(username, PlatformCircuitBreakers.CODEFORCES);
+        if (handle == null) {
             return new Codeforces();
         }
-        return profileFetchingService.fetchCodeforcesProfile(cfid);
+        return fetchCodeforcesProfile(handle);
     }
 
     @Override
-    @Cacheable(value = "atcoderProfile", key = "#username")
     public Atcoder getAtcoderProfile(String username) {
-        if (userRepository.findByUsername(username) == null) {
-            throw new IllegalArgumentException("User not found with username: " + username);
-        }
-        String acid = userRepository.findByUsername(username).getAtcoderUsername();
-        if (acid == null || acid.isEmpty()) {
+        String handle = handleDirectory.getHandle(username, PlatformCircuitBreakers.ATCODER);
+        if (handle == null) {
             return new Atcoder();
         }
-        return profileFetchingService.fetchAtcoderProfile(acid);
+        return fetchAtcoderProfile(handle);
     }
 
     @Override
-    @Cacheable(value = "codechefProfile", key = "#username")
     public Codechef getCodechefProfile(String username) {
-        if (userRepository.findByUsername(username) == null) {
-            throw new IllegalArgumentException("User not found with username: " + username);
-        }
-        String ccid = userRepository.findByUsername(username).getCodechefUsername();
-        if (ccid == null || ccid.isEmpty()) {
+        String handle = handleDirectory.getHandle(username, PlatformCircuitBreakers.CODECHEF);
+        if (handle == null) {
             return new Codechef();
         }
-        return profileFetchingService.fetchCodechefProfile(ccid);
+        return fetchCodechefProfile(handle);
     }
 
     @Override
-    @Cacheable(value = "leetcodeProfile", key = "#username")
     public Leetcode getLeetcodeProfile(String username) {
-        if (userRepository.findByUsername(username) == null) {
+        String handle = handleDirectory.getHandle(username, PlatformCircuitBreakers.LEETCODE);
+        if (handle == null) {
+            return new Leetcode();
+        }
+        return fetchLeetcodeProfile(handle);
+    }
+
+    @Override
+    public ActivityDTO getActivity(String username, int days) {
+        User user = userRepository.findByUsername(username);
+        if (user == null) {
             throw new IllegalArgumentException("User not found with username: " + username);
         }
-        String lcid = userRepository.findByUsername(username).getLeetcodeUsername();
-        if (lcid == null || lcid.isEmpty()) {
-            return new Leetcode();
+        if (days < 1 || days > 3660) {
+            throw new IllegalArgumentException("days must be between 1 and 3660");
         }
-        return profileFetchingService.fetchLeetcodeProfile(lcid);
+        Map<String, String> handles = new LinkedHashMap<>();
+        handles.put(ActivityCalendarService.CODEFORCES, user.getCodeforcesUsername());
+        handles.put(ActivityCalendarService.LEETCODE, user.getLeetcodeUsername());
+        return activityCalendarService.getActivity(handles, days);
     }
 
     @Override
-    @Cacheable(value = "codeforcesProfile", key = "#cfusername")
     public Codeforces fetchCodeforcesProfile(String cfusername) {
-        return profileFetchingService.fetchCodeforcesProfile(cfusername);
+        // Refresh-ahead reloads queue in the background lane of the Codeforces rate limiter
+        return profileCacheService.get("codeforcesProfile", HandleDirectory.key(cfusername),
+                () -> profileFetchingService.fetchCodeforcesProfile(cfusername),
+                () -> profileFetchingService.fetchCodeforcesProfile(cfusername, Priority.BACKGROUND));
     }
 
     @Override
-    @Cacheable(value = "atcoderProfile", key = "#atcusername")
     public Atcoder fetchAtcoderProfile(String atcusername) {
-        return profileFetchingService.fetchAtcoderProfile(atcusername);
+        return profileCacheService.get("atcoderProfile", HandleDirectory.key(atcusername),
+                () -> profileFetchingService.fetchAtcoderProfile(atcusername));
     }
 
     @Override
-    @Cacheable(value = "codechefProfile", key = "#ccusername")
     public Codechef fetchCodechefProfile(String ccusername) {
-        return profileFetchingService.fetchCodechefProfile(ccusername);
+        return profileCacheService.get("codechefProfile", HandleDirectory.key(ccusername),
+                () -> profileFetchingService.fetchCodechefProfile(ccusername));
     }
 
     @Override
-    @Cacheable(value = "leetcodeProfile", key = "#lcusername")
     public Leetcode fetchLeetcodeProfile(String lcusername) {
-        return profileFetchingService.fetchLeetcodeProfile(lcusername);
+        return profileCacheService.get("leetcodeProfile", HandleDirectory.key(lcusername),
+                () -> profileFetchingService.fetchLeetcodeProfile(lcusername));
     }
 }
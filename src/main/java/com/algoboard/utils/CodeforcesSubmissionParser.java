@@ -0,0 +1,191 @@
+package com.algoboard.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Token-stream reader for Codeforces user.status responses.
+ * Each submission is handed to the visitor as it is read, reusing a single
+ * Submission instance, so no per-submission object graph is ever built.
+ */
+public final class CodeforcesSubmissionParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private CodeforcesSubmissionParser() {
+    }
+
+    public interface Visitor {
+        // Return false to stop reading the rest of the response
+        boolean visit(Submission submission);
+    }
+
+    public static final class Submission {
+        private long id;
+        private long creationTimeSeconds;
+        private long contestId;
+        private String index;
+        private String name;
+        private String verdict;
+
+        private void reset() {
+            id = 0;
+            creationTimeSeconds = 0;
+            contestId = 0;
+            index = null;
+            name = null;
+            verdict = null;
+        }
+
+        // Detached copy for callers that need to keep the submission after visit returns
+        public Submission copy() {
+            Submission copy = new Submission();
+            copy.id = id;
+            copy.creationTimeSeconds = creationTimeSeconds;
+            copy.contestId = contestId;
+            copy.index = index;
+            copy.name = name;
+            copy.verdict = verdict;
+            return copy;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getCreationTimeSeconds() {
+            return creationTimeSeconds;
+        }
+
+        public long getContestId() {
+            return contestId;
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getVerdict() {
+            return verdict;
+        }
+    }
+
+    public static final class PageResult {
+        private final boolean ok;
+        private final int count;
+        private final String comment;
+
+        private PageResult(boolean ok, int count, String comment) {
+            this.ok = ok;
+            this.count = count;
+            this.comment = comment;
+        }
+
+        public boolean isOk() {
+            return ok;
+        }
+
+        // Number of submissions read, including the one the visitor stopped on
+        public int getCount() {
+            return count;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+    }
+
+    public static PageResult parse(InputStream body, Visitor visitor) throws IOException {
+        String status = null;
+        String comment = null;
+        int count = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new PageResult(false, 0, null);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("status")) {
+                    status = parser.getValueAsString();
+                } else if (field.equals("comment")) {
+                    comment = parser.getValueAsString();
+                } else if (field.equals("result") && value == JsonToken.START_ARRAY) {
+                    Submission submission = new Submission();
+                    boolean reading = true;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (!reading) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        submission.reset();
+                        readSubmission(parser, submission);
+                        count++;
+                        reading = visitor.visit(submission);
+                        if (!reading && status != null) {
+                            // Everything we need has been read, the rest of the body is dropped
+                            return new PageResult("OK".equals(status), count, comment);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new PageResult("OK".equals(status), count, comment);
+    }
+
+    private static void readSubmission(JsonParser parser, Submission submission) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id":
+                    submission.id = parser.getValueAsLong();
+                    break;
+                case "creationTimeSeconds":
+                    submission.creationTimeSeconds = parser.getValueAsLong();
+                    break;
+                case "verdict":
+                    submission.verdict = parser.getValueAsString();
+                    break;
+                case "problem":
+                    if (value == JsonToken.START_OBJECT) {
+                        readProblem(parser, submission);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readProblem(JsonParser parser, Submission submission) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "contestId":
+                    submission.contestId = parser.getValueAsLong();
+                    break;
+                case "index":
+                    submission.index = parser.getValueAsString();
+                    break;
+                case "name":
+                    submission.name = parser.getValueAsString();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.algoboard.utils;
+
+import com.algoboard.DTO.ContestDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable time index over a set of contests. Contests are sorted once by
+ * start time and all end times are kept in a second sorted array, so the
+ * live / upcoming / finished split as of any instant is found by binary
+ * search. Partitions only change when some contest starts or ends; the view
+ * computed for an instant is reused until the next such transition.
+ *
+ * A contest is live while start <= t < end, upcoming while t < start and
+ * finished once end <= t.
+ */
+public final class ContestCalendar {
+    private final ContestDTO[] byStart;
+    private final long[] starts;
+    // Sorted on their own, not aligned with byStart
+    private final long[] ends;
+    private volatile View view;
+
+    public ContestCalendar(List<ContestDTO> contests) {
+        List<ContestDTO> timed = new ArrayList<>(contests.size());
+        for (ContestDTO contest : contests) {
+            if (contest.getStartTime() != null) {
+                timed.add(contest);
+            }
+        }
+        this.byStart = timed.toArray(new ContestDTO[0]);
+        Arrays.sort(byStart, Comparator.comparing(ContestDTO::getStartTime));
+        this.starts = new long[byStart.length];
+        this.ends = new long[byStart.length];
+        for (int i = 0; i < byStart.length; i++) {
+            starts[i] = key(byStart[i].getStartTime());
+            ends[i] = endKey(byStart[i]);
+        }
+        Arrays.sort(ends);
+    }
+
+    // The partitions as of one instant, valid until the next contest starts or ends
+    public static final class View {
+        private final List<ContestDTO> live;
+        private final List<ContestDTO> upcoming;
+        private final List<ContestDTO> finished;
+        private final List<ContestDTO> contests;
+        private final long from;
+        private final long until;
+
+        private View(List<ContestDTO> live, List<ContestDTO> upcoming, List<ContestDTO> finished, long from,
+                long until) {
+            this.live = Collections.unmodifiableList(live);
+            this.upcoming = Collections.unmodifiableList(upcoming);
+            this.finished = Collections.unmodifiableList(finished);
+            List<ContestDTO> all = new ArrayList<>(live.size() + upcoming.size() + finished.size());
+            all.addAll(live);
+            all.addAll(upcoming);
+            all.addAll(finished);
+            this.contests = Collections.unmodifiableList(all);
+            this.from = from;
+            this.until = until;
+        }
+
+        // Earliest start first
+        public List<ContestDTO> getLive() {
+            return live;
+        }
+
+        // Earliest start first
+        public List<ContestDTO> getUpcoming() {
+            return upcoming;
+        }
+
+        // Most recent start first
+        public List<ContestDTO> getFinished() {
+            return finished;
+        }
+
+        // Live, then upcoming, then finished
+        public List<ContestDTO> getContests() {
+            return contests;
+        }
+
+        // When the next contest starts or ends, null if none ever will
+        public LocalDateTime getValidUntil() {
+            return until == Long.MAX_VALUE ? null : LocalDateTime.ofEpochSecond(until, 0, ZoneOffset.UTC);
+        }
+    }
+
+    public int size() {
+        return byStart.length;
+    }
+
+    public View at(LocalDateTime time) {
+        long t = key(time);
+        View current = view;
+        if (current != null && t >= current.from && t < current.until) {
+            return current;
+        }
+        current = build(t);
+        view = current;
+        return current;
+    }
+
+    private View build(long t) {
+        int started = upperBound(starts, t);
+        int ended = upperBound(ends, t);
+
+        List<ContestDTO> upcoming = new ArrayList<>(Arrays.asList(byStart).subList(started, byStart.length));
+        List<ContestDTO> live = new ArrayList<>();
+        List<ContestDTO> finished = new ArrayList<>(ended);
+        // Walk the started contests newest first: finished comes out in the right order, live is reversed after
+        for (int i = started - 1; i >= 0; i--) {
+            if (endKey(byStart[i]) > t) {
+                live.add(byStart[i]);
+            } else {
+                finished.add(byStart[i]);
+            }
+        }
+        Collections.reverse(live);
+
+        long from = Long.MIN_VALUE;
+        if (started > 0) {
+            from = Math.max(from, starts[started - 1]);
+        }
+        if (ended > 0) {
+            from = Math.max(from, ends[ended - 1]);
+        }
+        long until = Long.MAX_VALUE;
+        if (started < starts.length) {
+            until = Math.min(until, starts[started]);
+        }
+        if (ended < ends.length) {
+            until = Math.min(until, ends[ended]);
+        }
+        return new View(live, upcoming, finished, from, until);
+    }
+
+    // Index of the first element greater than value
+    private static int upperBound(long[] sorted, long value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long endKey(ContestDTO contest) {
+        LocalDateTime end = contest.getEndTime() != null ? contest.getEndTime() : contest.getStartTime();
+        return Math.max(key(end), key(contest.getStartTime()));
+    }
+
+    // Contest times are local date-times, any fixed offset gives a consistent ordering key
+    private static long key(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
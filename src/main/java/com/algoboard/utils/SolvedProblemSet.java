@@ -0,0 +1,257 @@
+package com.algoboard.utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of Codeforces problems packed into primitive longs.
+ *
+ * A problem key holds the contest id in the high 32 bits and up to four ASCII
+ * characters of the problem index ("A", "B1", "F2", ...) in the low 32 bits,
+ * so no Long or String is retained per problem. Indices that do not fit are
+ * stored as a flagged 31-bit hash.
+ */
+public final class SolvedProblemSet {
+    private static final long EMPTY = 0L;
+    private static final long HASHED_INDEX_FLAG = 0x80000000L;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] table;
+    private int size;
+    // 0 is the empty-slot marker, so a real key of 0 is tracked separately
+    private boolean containsZero;
+
+    public SolvedProblemSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SolvedProblemSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2 - 1)) << 1;
+        this.table = new long[capacity];
+    }
+
+    public static SolvedProblemSet of(long[] keys) {
+        SolvedProblemSet set = new SolvedProblemSet(keys == null ? 0 : keys.length);
+        if (keys != null) {
+            for (long key : keys) {
+                set.add(key);
+            }
+        }
+        return set;
+    }
+
+    public static long pack(long contestId, String index) {
+        long low = 0;
+        if (index != null && index.length() <= 4 && isAscii(index)) {
+            for (int i = 0; i < index.length(); i++) {
+                low = (low << 8) | index.charAt(i);
+            }
+        } else if (index != null) {
+            low = HASHED_INDEX_FLAG | (index.hashCode() & 0x7FFFFFFFL);
+        }
+        return (contestId << 32) | low;
+    }
+
+    public static long contestId(long key) {
+        return key >>> 32;
+    }
+
+    // Returns null when the index was too long to be packed losslessly
+    public static String index(long key) {
+        long low = key & 0xFFFFFFFFL;
+        if ((low & HASHED_INDEX_FLAG) != 0) {
+            return null;
+        }
+        StringBuilder index = new StringBuilder(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            char c = (char) ((low >>> shift) & 0xFF);
+            if (c != 0) {
+                index.append(c);
+            }
+        }
+        return index.toString();
+    }
+
+    public boolean add(long contestId, String index) {
+        return add(pack(contestId, index));
+    }
+
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+        size++;
+        if (size * 2 > table.length) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long contestId, String index) {
+        return contains(pack(contestId, index));
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public void addAll(SolvedProblemSet other) {
+        other.forEach(this::add);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(EMPTY);
+        }
+        for (long key : table) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    // Sorted keys, the compact form used for persistence
+    public long[] toSortedArray() {
+        long[] keys = new long[size];
+        int[] position = { 0 };
+        forEach(key -> keys[position[0]++] = key);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /*
+     * The union of sortedKeys (as produced by toSortedArray) and this set, as a
+     * new sorted array; sortedKeys itself when this set adds nothing. Only the
+     * keys that are new get sorted, the rest is a linear merge.
+     */
+    public long[] mergeSorted(long[] sortedKeys) {
+        long[] existing = sortedKeys == null ? new long[0] : sortedKeys;
+        long[] added = new long[size];
+        int[] count = { 0 };
+        forEach(key -> {
+            if (Arrays.binarySearch(existing, key) < 0) {
+                added[count[0]++] = key;
+            }
+        });
+        if (count[0] == 0) {
+            return existing;
+        }
+        Arrays.sort(added, 0, count[0]);
+        long[] merged = new long[existing.length + count[0]];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < existing.length && j < count[0]) {
+            merged[k++] = existing[i] < added[j] ? existing[i++] : added[j++];
+        }
+        while (i < existing.length) {
+            merged[k++] = existing[i++];
+        }
+        while (j < count[0]) {
+            merged[k++] = added[j++];
+        }
+        return merged;
+    }
+
+    public SolvedProblemSet copy() {
+        SolvedProblemSet copy = new SolvedProblemSet(0);
+        copy.table = table.clone();
+        copy.size = size;
+        copy.containsZero = containsZero;
+        return copy;
+    }
+
+    public static SolvedProblemSet union(SolvedProblemSet a, SolvedProblemSet b) {
+        SolvedProblemSet larger = a.size >= b.size ? a : b;
+        SolvedProblemSet result = larger.copy();
+        result.addAll(larger == a ? b : a);
+        return result;
+    }
+
+    public static SolvedProblemSet intersection(SolvedProblemSet a, SolvedProblemSet b) {
+        SolvedProblemSet smaller = a.size <= b.size ? a : b;
+        SolvedProblemSet other = smaller == a ? b : a;
+        SolvedProblemSet result = new SolvedProblemSet(smaller.size);
+        smaller.forEach(key -> {
+            if (other.contains(key)) {
+                result.add(key);
+            }
+        });
+        return result;
+    }
+
+    // Problems in a that are not in b
+    public static SolvedProblemSet difference(SolvedProblemSet a, SolvedProblemSet b) {
+        SolvedProblemSet result = new SolvedProblemSet(a.size);
+        a.forEach(key -> {
+            if (!b.contains(key)) {
+                result.add(key);
+            }
+        });
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        size = containsZero ? 1 : 0;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int mask = capacity - 1;
+                int slot = mix(key) & mask;
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = key;
+                size++;
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == 0 || s.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,219 @@
+package com.algoboard.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hierarchical timing wheel. Level 0 has one slot per tick, every level above
+ * has slots as wide as the whole level below; a timer sits in the lowest level
+ * whose current block still contains its deadline and cascades one level down
+ * when its slot comes round. Scheduling and cancelling are O(1) and a tick
+ * only touches the timers that are due, however many are pending.
+ *
+ * One daemon thread turns the wheel and owns all slots; timers handed in from
+ * other threads are queued and placed on the next tick. Due tasks run on the
+ * given executor so a slow task cannot hold the wheel up.
+ */
+public final class TimingWheel {
+    private final String name;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] slotTicks;
+    private final List<Timeout>[][] slots;
+    // Deadlines beyond the top level, placed again whenever the top level wraps
+    private final List<Timeout> overflow = new ArrayList<>();
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final Executor taskExecutor;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong fired = new AtomicLong();
+    private volatile boolean running;
+    private Thread worker;
+    // Last tick processed, only touched by the worker
+    private long currentTick;
+
+    // A scheduled task, cancel() before it is due and it never runs
+    public static final class Timeout {
+        private final long deadlineMillis;
+        private final Runnable task;
+        private volatile boolean cancelled;
+        private long deadlineTick;
+
+        private Timeout(long deadlineMillis, Runnable task) {
+            this.deadlineMillis = deadlineMillis;
+            this.task = task;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(String name, long tickMillis, int wheelSize, int levels, Executor taskExecutor) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.taskExecutor = taskExecutor;
+        this.slotTicks = new long[levels + 1];
+        slotTicks[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            slotTicks[level] = Math.multiplyExact(slotTicks[level - 1], wheelSize);
+        }
+        this.slots = new List[levels][wheelSize];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level][slot] = new ArrayList<>();
+            }
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        currentTick = System.currentTimeMillis() / tickMillis;
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    // Run task at (or just after) the given epoch millis; a deadline in the past runs on the next tick
+    public Timeout schedule(long deadlineMillis, Runnable task) {
+        Timeout timeout = new Timeout(deadlineMillis, task);
+        timeout.deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    public long getPending() {
+        return pending.get();
+    }
+
+    public long getFired() {
+        return fired.get();
+    }
+
+    private void run() {
+        while (running) {
+            long nextTickAt = (currentTick + 1) * tickMillis;
+            long sleepMillis = nextTickAt - System.currentTimeMillis();
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            // Catch up on every tick that has passed, e.g. after a long GC pause
+            long nowTick = System.currentTimeMillis() / tickMillis;
+            while (currentTick < nowTick) {
+                advance();
+            }
+        }
+    }
+
+    private void advance() {
+        long tick = currentTick + 1;
+        // Cascade from the top so timers can fall through several levels in one tick
+        if (tick % slotTicks[slots.length] == 0) {
+            List<Timeout> far = new ArrayList<>(overflow);
+            overflow.clear();
+            currentTick = tick;
+            for (Timeout timeout : far) {
+                place(timeout);
+            }
+        }
+        for (int level = slots.length - 1; level >= 1; level--) {
+            if (tick % slotTicks[level] == 0) {
+                List<Timeout> slot = slots[level][(int) ((tick / slotTicks[level]) % wheelSize)];
+                List<Timeout> cascading = new ArrayList<>(slot);
+                slot.clear();
+                currentTick = tick;
+                for (Timeout timeout : cascading) {
+                    place(timeout);
+                }
+            }
+        }
+        currentTick = tick;
+
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            place(timeout);
+        }
+        List<Timeout> due = slots[0][(int) (tick % wheelSize)];
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Timeout> expired = new ArrayList<>(due);
+        due.clear();
+        for (Timeout expiredTimeout : expired) {
+            expire(expiredTimeout);
+        }
+    }
+
+    // Put a timer into the lowest level whose current block holds its deadline
+    private void place(Timeout timeout) {
+        if (timeout.cancelled) {
+            pending.decrementAndGet();
+            return;
+        }
+        if (timeout.deadlineTick <= currentTick) {
+            expire(timeout);
+            return;
+        }
+        for (int level = 0; level < slots.length; level++) {
+            if (timeout.deadlineTick / slotTicks[level + 1] == currentTick / slotTicks[level + 1]) {
+                slots[level][(int) ((timeout.deadlineTick / slotTicks[level]) % wheelSize)].add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    private void expire(Timeout timeout) {
+        pending.decrementAndGet();
+        if (timeout.cancelled) {
+            return;
+        }
+        fired.incrementAndGet();
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    System.out.println("Timer task on " + name + " failed: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.out.println("Timer task on " + name + " rejected: " + e.getMessage());
+        }
+    }
+}
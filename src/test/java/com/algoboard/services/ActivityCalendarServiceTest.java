@@ -0,0 +1,162 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.ActivityDTO;
+import com.algoboard.entities.ActivityCalendar;
+import com.algoboard.entities.CodeforcesSubmissionBucket;
+import com.algoboard.repository.ActivityCalendarRepository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActivityCalendarServiceTest {
+    private static final long TODAY = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+
+    // The mocked repository keeps what is saved, like Mongo would
+    private final Map<String, ActivityCalendar> stored = new HashMap<>();
+    private final ActivityCalendarService service;
+
+    ActivityCalendarServiceTest() {
+        ActivityCalendarRepository repository = mock(ActivityCalendarRepository.class);
+        when(repository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+        when(repository.save(any(ActivityCalendar.class))).thenAnswer(invocation -> {
+            ActivityCalendar calendar = invocation.getArgument(0);
+            stored.put(calendar.getId(), calendar);
+            return calendar;
+        });
+        service = new ActivityCalendarService(repository, mock(CodeforcesSubmissionArchive.class));
+    }
+
+    @Test
+    void currentStreakSurvivesAnEmptyToday() {
+        store(ActivityCalendarService.CODEFORCES, TODAY - 3, 2, 1, 4, 0);
+        ActivityDTO activity = activity(7);
+        assertEquals(3, activity.getCurrentStreak());
+        assertEquals(3, activity.getLongestStreak());
+
+        store(ActivityCalendarService.CODEFORCES, TODAY - 3, 2, 1, 4, 1);
+        assertEquals(4, activity(7).getCurrentStreak());
+    }
+
+    @Test
+    void missingYesterdayEndsTheCurrentStreak() {
+        store(ActivityCalendarService.CODEFORCES, TODAY - 4, 1, 1, 1, 0, 0);
+        ActivityDTO activity = activity(7);
+        assertEquals(0, activity.getCurrentStreak());
+        assertEquals(3, activity.getLongestStreak());
+    }
+
+    @Test
+    void longestStreakRunsAcrossPlatforms() {
+        // Neither platform alone has more than two days in a row
+        store(ActivityCalendarService.CODEFORCES, TODAY - 10, 1, 1, 0, 0, 0, 3);
+        store(ActivityCalendarService.LEETCODE, TODAY - 8, 2, 2, 0, 5);
+        ActivityDTO activity = activity(14);
+
+        assertEquals(4, activity.getLongestStreak());
+        assertEquals(0, activity.getCurrentStreak());
+        assertEquals(14, activity.getTotalSubmissions());
+        assertEquals(5, activity.getActiveDays());
+        // Both platforms were active five days ago
+        assertEquals(8, activity.getCounts()[14 - 1 - 5]);
+    }
+
+    @Test
+    void windowLongerThanTheHistoryIsPaddedWithEmptyDays() {
+        store(ActivityCalendarService.CODEFORCES, TODAY - 2, 1, 2, 3);
+        ActivityDTO activity = activity(30);
+
+        assertEquals(LocalDate.ofEpochDay(TODAY - 29), activity.getStartDate());
+        assertEquals(30, activity.getCounts().length);
+        assertEquals(0, activity.getCounts()[0]);
+        assertArrayEquals(new int[] { 1, 2, 3 }, Arrays.copyOfRange(activity.getCounts(), 27, 30));
+        assertEquals(6, activity.getTotalSubmissions());
+        assertEquals(3, activity.getCurrentStreak());
+    }
+
+    @Test
+    void longestStreakLooksBeyondTheWindow() {
+        store(ActivityCalendarService.CODEFORCES, TODAY - 40, 1, 1, 1, 1, 1);
+        ActivityDTO activity = activity(7);
+
+        assertEquals(5, activity.getLongestStreak());
+        assertEquals(0, activity.getTotalSubmissions());
+        assertEquals(0, activity.getActiveDays());
+    }
+
+    @Test
+    void noCalendarsGiveAnEmptyWindow() {
+        ActivityDTO activity = activity(7);
+        assertEquals(7, activity.getCounts().length);
+        assertEquals(0, activity.getCurrentStreak());
+        assertEquals(0, activity.getLongestStreak());
+    }
+
+    @Test
+    void codeforcesSubmissionsGrowTheCalendarOnBothSides() {
+        ActivityCalendar calendar = store(ActivityCalendarService.CODEFORCES, TODAY - 5, 1, 1);
+        calendar.setLastSubmissionId(100);
+
+        service.recordCodeforcesSubmissions("Tourist", List.of(
+                submission(101, TODAY - 7),
+                submission(102, TODAY - 2),
+                submission(103, TODAY - 2),
+                // Counted already, the id is not past the calendar's last one
+                submission(100, TODAY - 5)));
+
+        ActivityCalendar grown = stored.get("codeforces:tourist");
+        assertEquals(TODAY - 7, grown.getFirstDay());
+        assertArrayEquals(new int[] { 1, 0, 1, 1, 0, 2 }, grown.getCounts());
+        assertEquals(103, grown.getLastSubmissionId());
+    }
+
+    @Test
+    void leetcodeTotalsGrowTheCalendarAndReplaceDays() {
+        store(ActivityCalendarService.LEETCODE, TODAY - 3, 4, 4);
+        Map<String, Integer> submissionCalendar = new LinkedHashMap<>();
+        submissionCalendar.put(Long.toString((TODAY - 5) * 86400), 1);
+        submissionCalendar.put(Long.toString((TODAY - 2) * 86400), 6);
+        submissionCalendar.put(Long.toString(TODAY * 86400), 2);
+
+        service.recordLeetcodeCalendar("Tourist", submissionCalendar);
+
+        ActivityCalendar grown = stored.get("leetcode:tourist");
+        assertEquals(TODAY - 5, grown.getFirstDay());
+        assertArrayEquals(new int[] { 1, 0, 4, 6, 0, 2 }, grown.getCounts());
+    }
+
+    private ActivityDTO activity(int days) {
+        Map<String, String> handles = new LinkedHashMap<>();
+        handles.put(ActivityCalendarService.CODEFORCES, "Tourist");
+        handles.put(ActivityCalendarService.LEETCODE, "Tourist");
+        return service.getActivity(handles, days);
+    }
+
+    private ActivityCalendar store(String platform, long firstDay, int... counts) {
+        String id = platform + ":tourist";
+        ActivityCalendar calendar = new ActivityCalendar(id, platform, "tourist", firstDay, counts, 0, null);
+        calendar.setDayZone(ZoneOffset.UTC.getId());
+        stored.put(id, calendar);
+        return calendar;
+    }
+
+    // Submitted in the middle of the given UTC day
+    private static CodeforcesSubmissionBucket.Entry submission(long id, long day) {
+        return new CodeforcesSubmissionBucket.Entry(id, day * 86400 + 43200, 0, "OK");
+    }
+}
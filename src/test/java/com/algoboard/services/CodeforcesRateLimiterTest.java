@@ -0,0 +1,112 @@
+package com.algoboard.services;
+
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodeforcesRateLimiterTest {
+
+    @Test
+    void burstIsAvailableUpFrontThenCallsTimeOut() throws InterruptedException {
+        CodeforcesRateLimiter limiter = new CodeforcesRateLimiter(10_000, 3);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.acquire(Priority.INTERACTIVE, 0));
+        }
+        assertFalse(limiter.acquire(Priority.INTERACTIVE, 20));
+        assertEquals(3L, lane(limiter, Priority.INTERACTIVE).get("granted"));
+        assertEquals(1L, lane(limiter, Priority.INTERACTIVE).get("timedOut"));
+    }
+
+    @Test
+    void tokensRefillAtTheConfiguredInterval() throws InterruptedException {
+        CodeforcesRateLimiter limiter = new CodeforcesRateLimiter(100, 1);
+        assertTrue(limiter.acquire(Priority.BACKGROUND, 0));
+        long start = System.nanoTime();
+        assertTrue(limiter.acquire(Priority.BACKGROUND, 1000));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(waitedMillis >= 80, "waited only " + waitedMillis + "ms");
+    }
+
+    @Test
+    void interactiveCallersGoBeforeQueuedBackgroundOnes() throws InterruptedException {
+        CodeforcesRateLimiter limiter = new CodeforcesRateLimiter(300, 1);
+        assertTrue(limiter.acquire(Priority.BACKGROUND, 0));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        Thread background = waiter(limiter, Priority.BACKGROUND, "background", order);
+        awaitQueueDepth(limiter, Priority.BACKGROUND, 1);
+        Thread interactive = waiter(limiter, Priority.INTERACTIVE, "interactive", order);
+        awaitQueueDepth(limiter, Priority.INTERACTIVE, 1);
+        background.join(5000);
+        interactive.join(5000);
+
+        assertEquals(List.of("interactive", "background"), order);
+    }
+
+    @Test
+    void callersInOneLaneAreServedInArrivalOrder() throws InterruptedException {
+        // Slow enough that nobody is served before all four have queued up
+        CodeforcesRateLimiter limiter = new CodeforcesRateLimiter(200, 1);
+        assertTrue(limiter.acquire(Priority.BACKGROUND, 0));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        List<Thread> waiters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            waiters.add(waiter(limiter, Priority.BACKGROUND, "caller-" + i, order));
+            awaitQueueDepth(limiter, Priority.BACKGROUND, i + 1);
+        }
+        for (Thread waiter : waiters) {
+            waiter.join(5000);
+        }
+
+        assertEquals(List.of("caller-0", "caller-1", "caller-2", "caller-3"), order);
+    }
+
+    @Test
+    void penaltyEmptiesTheBucket() throws InterruptedException {
+        CodeforcesRateLimiter limiter = new CodeforcesRateLimiter(150, 2);
+        limiter.penalize();
+        assertFalse(limiter.acquire(Priority.INTERACTIVE, 30));
+        assertEquals(1L, limiter.getMetrics().get("throttledResponses"));
+        // Refilling starts over from the penalty, one token per interval
+        assertTrue(limiter.acquire(Priority.INTERACTIVE, 1000));
+        assertFalse(limiter.acquire(Priority.INTERACTIVE, 0));
+    }
+
+    private static Thread waiter(CodeforcesRateLimiter limiter, Priority priority, String name, List<String> order) {
+        Thread thread = new Thread(() -> {
+            try {
+                if (limiter.acquire(priority, 5000)) {
+                    order.add(name);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitQueueDepth(CodeforcesRateLimiter limiter, Priority priority, int depth)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while ((int) lane(limiter, priority).get("queueDepth") < depth) {
+            assertTrue(System.currentTimeMillis() < deadline, "no caller queued in " + priority);
+            Thread.sleep(1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> lane(CodeforcesRateLimiter limiter, Priority priority) {
+        return (Map<String, Object>) limiter.getMetrics().get(priority.name().toLowerCase());
+    }
+}
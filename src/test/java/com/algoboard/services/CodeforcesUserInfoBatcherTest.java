@@ -0,0 +1,38 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.Codeforces.CF_UserDTO;
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CodeforcesUserInfoBatcherTest {
+
+    @Test
+    void shutdownFailsPendingAndLaterLookups() {
+        CodeforcesApiClient apiClient = mock(CodeforcesApiClient.class);
+        CodeforcesUserInfoBatcher batcher = new CodeforcesUserInfoBatcher(apiClient, new ObjectMapper(), Runnable::run);
+
+        // Still inside the batch window, nothing has been sent yet
+        CompletableFuture<CF_UserDTO.Result> pending = batcher.lookup("tourist", Priority.INTERACTIVE);
+        batcher.shutdown();
+
+        assertFailed(pending);
+        assertFailed(batcher.lookup("petr", Priority.INTERACTIVE));
+        verifyNoInteractions(apiClient);
+    }
+
+    private static void assertFailed(CompletableFuture<CF_UserDTO.Result> lookup) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> lookup.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+}
@@ -0,0 +1,78 @@
+package com.algoboard.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContestCalendarFeedServiceTest {
+
+    @Test
+    void shortLineIsNotFolded() {
+        assertEquals("SUMMARY:Div. 2\r\n", render("SUMMARY:Div. 2"));
+    }
+
+    @Test
+    void asciiLineFoldsAtSeventyFiveOctets() {
+        String content = "SUMMARY:" + "x".repeat(200);
+        String ics = render(content);
+        String[] lines = physicalLines(ics);
+        assertEquals(75, octets(lines[0]));
+        assertEquals(75, octets(lines[1]));
+        assertTrue(lines[1].startsWith(" "));
+        assertEquals(content, unfold(ics));
+    }
+
+    @Test
+    void multiByteCharactersAreNeverSplit() {
+        // 2, 3 and 4 octet characters, offset so that folds land inside them
+        for (String text : new String[] { "é", "日本語", "🏆" }) {
+            for (int pad = 0; pad < 4; pad++) {
+                String content = "SUMMARY:" + "x".repeat(pad) + text.repeat(60);
+                String ics = render(content);
+                for (String line : physicalLines(ics)) {
+                    assertTrue(octets(line) <= 75, line + " is " + octets(line) + " octets");
+                    assertEquals(line, new String(line.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+                }
+                assertEquals(content, unfold(ics));
+            }
+        }
+    }
+
+    @Test
+    void escapesTextValues() {
+        assertEquals("a\\\\b\\;c\\,d\\ne", ContestCalendarFeedService.escape("a\\b;c,d\r\ne"));
+        assertEquals("", ContestCalendarFeedService.escape(null));
+    }
+
+    @Test
+    void escapedTextFoldsLikeAnyOtherContent() {
+        String content = "DESCRIPTION:" + ContestCalendarFeedService.escape("Codeforces, Div. 1;\n".repeat(10));
+        String ics = render(content);
+        for (String line : physicalLines(ics)) {
+            assertTrue(octets(line) <= 75);
+        }
+        assertEquals(content, unfold(ics));
+    }
+
+    private static String render(String content) {
+        StringBuilder ics = new StringBuilder();
+        ContestCalendarFeedService.line(ics, content);
+        return ics.toString();
+    }
+
+    private static String[] physicalLines(String ics) {
+        assertTrue(ics.endsWith("\r\n"));
+        return ics.substring(0, ics.length() - 2).split("\r\n", -1);
+    }
+
+    private static String unfold(String ics) {
+        return ics.substring(0, ics.length() - 2).replace("\r\n ", "");
+    }
+
+    private static int octets(String line) {
+        return line.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,118 @@
+package com.algoboard.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlatformCircuitBreakersTest {
+    private static final String PLATFORM = PlatformCircuitBreakers.CODEFORCES;
+    private static final long COOL_DOWN_MILLIS = 50;
+
+    @Test
+    void opensAfterTheFailureThreshold() {
+        PlatformCircuitBreakers breakers = new PlatformCircuitBreakers(3, 60_000);
+        breakers.recordFailure(PLATFORM);
+        breakers.recordFailure(PLATFORM);
+        assertTrue(breakers.allowRequest(PLATFORM));
+        assertEquals("CLOSED", metrics(breakers).get("state"));
+
+        breakers.recordFailure(PLATFORM);
+        assertEquals("OPEN", metrics(breakers).get("state"));
+        assertFalse(breakers.allowRequest(PLATFORM));
+        assertFalse(breakers.allowRequest(PLATFORM));
+        assertEquals(1L, metrics(breakers).get("trips"));
+        assertEquals(2L, metrics(breakers).get("rejected"));
+    }
+
+    @Test
+    void successResetsTheFailureRun() {
+        PlatformCircuitBreakers breakers = new PlatformCircuitBreakers(3, 60_000);
+        breakers.recordFailure(PLATFORM);
+        breakers.recordFailure(PLATFORM);
+        breakers.recordSuccess(PLATFORM);
+        breakers.recordFailure(PLATFORM);
+        breakers.recordFailure(PLATFORM);
+        assertEquals("CLOSED", metrics(breakers).get("state"));
+        assertEquals(2, metrics(breakers).get("consecutiveFailures"));
+        assertTrue(breakers.allowRequest(PLATFORM));
+    }
+
+    @Test
+    void coolDownLetsExactlyOneTrialThrough() throws InterruptedException {
+        PlatformCircuitBreakers breakers = tripped();
+        assertFalse(breakers.allowRequest(PLATFORM));
+
+        Thread.sleep(COOL_DOWN_MILLIS + 30);
+        assertTrue(breakers.allowRequest(PLATFORM));
+        assertEquals("HALF_OPEN", metrics(breakers).get("state"));
+        assertFalse(breakers.allowRequest(PLATFORM));
+    }
+
+    @Test
+    void successfulTrialClosesTheBreaker() throws InterruptedException {
+        PlatformCircuitBreakers breakers = tripped();
+        Thread.sleep(COOL_DOWN_MILLIS + 30);
+        assertTrue(breakers.allowRequest(PLATFORM));
+
+        breakers.recordSuccess(PLATFORM);
+        assertEquals("CLOSED", metrics(breakers).get("state"));
+        assertTrue(breakers.allowRequest(PLATFORM));
+        assertTrue(breakers.allowRequest(PLATFORM));
+    }
+
+    @Test
+    void failedTrialReopensForAnotherCoolDown() throws InterruptedException {
+        PlatformCircuitBreakers breakers = tripped();
+        Thread.sleep(COOL_DOWN_MILLIS + 30);
+        assertTrue(breakers.allowRequest(PLATFORM));
+
+        breakers.recordFailure(PLATFORM);
+        assertEquals("OPEN", metrics(breakers).get("state"));
+        assertEquals(2L, metrics(breakers).get("trips"));
+        assertFalse(breakers.allowRequest(PLATFORM));
+
+        Thread.sleep(COOL_DOWN_MILLIS + 30);
+        assertTrue(breakers.allowRequest(PLATFORM));
+    }
+
+    @Test
+    void ignoredCallsNeitherCountNorHoldTheTrial() throws InterruptedException {
+        PlatformCircuitBreakers breakers = new PlatformCircuitBreakers(2, COOL_DOWN_MILLIS);
+        breakers.recordFailure(PLATFORM);
+        breakers.recordIgnored(PLATFORM);
+        breakers.recordIgnored(PLATFORM);
+        assertEquals("CLOSED", metrics(breakers).get("state"));
+
+        breakers.recordFailure(PLATFORM);
+        Thread.sleep(COOL_DOWN_MILLIS + 30);
+        assertTrue(breakers.allowRequest(PLATFORM));
+        breakers.recordIgnored(PLATFORM);
+        assertEquals("HALF_OPEN", metrics(breakers).get("state"));
+        assertTrue(breakers.allowRequest(PLATFORM));
+    }
+
+    @Test
+    void platformsTripIndependently() {
+        PlatformCircuitBreakers breakers = new PlatformCircuitBreakers(1, 60_000);
+        breakers.recordFailure(PlatformCircuitBreakers.LEETCODE);
+        assertFalse(breakers.allowRequest(PlatformCircuitBreakers.LEETCODE));
+        assertTrue(breakers.allowRequest(PlatformCircuitBreakers.ATCODER));
+        assertTrue(breakers.allowRequest(PlatformCircuitBreakers.CODECHEF));
+    }
+
+    private static PlatformCircuitBreakers tripped() {
+        PlatformCircuitBreakers breakers = new PlatformCircuitBreakers(2, COOL_DOWN_MILLIS);
+        breakers.recordFailure(PLATFORM);
+        breakers.recordFailure(PLATFORM);
+        return breakers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> metrics(PlatformCircuitBreakers breakers) {
+        return (Map<String, Object>) breakers.getMetrics().get(PLATFORM);
+    }
+}
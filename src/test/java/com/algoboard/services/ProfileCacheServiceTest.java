@@ -0,0 +1,181 @@
+package com.algoboard.services;
+
+import com.algoboard.entities.Codeforces;
+import com.algoboard.entities.FetchOutcome;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfileCacheServiceTest {
+    private static final String CACHE = "codeforcesProfile";
+    private static final int CALLERS = 8;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CACHE);
+    private final ThreadPoolTaskExecutor backgroundRefreshExecutor = new ThreadPoolTaskExecutor();
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private ProfileCacheService service;
+
+    ProfileCacheServiceTest() {
+        backgroundRefreshExecutor.setCorePoolSize(1);
+        backgroundRefreshExecutor.setQueueCapacity(10);
+        backgroundRefreshExecutor.initialize();
+        service = new ProfileCacheService(cacheManager, backgroundRefreshExecutor, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        backgroundRefreshExecutor.shutdown();
+    }
+
+    @Test
+    void concurrentMissesRunTheLoaderOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        List<Future<Codeforces>> results = missTogether(() -> {
+            loads.incrementAndGet();
+            // Hold the flight open until every other caller is waiting on it
+            awaitCoalesced(CALLERS - 1);
+            return profile("tourist");
+        });
+
+        for (Future<Codeforces> result : results) {
+            assertEquals("tourist", result.get(5, TimeUnit.SECONDS).getUsername());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1L, service.getMetrics().get("loads"));
+        assertEquals(0, service.getMetrics().get("inFlight"));
+
+        // The stored value now answers without another load
+        assertEquals("tourist", service.get(CACHE, "tourist", () -> {
+            loads.incrementAndGet();
+            return profile("tourist");
+        }).getUsername());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loaderFailureReachesEveryWaiter() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        IllegalArgumentException failure = new IllegalArgumentException("User not found");
+        List<Future<Codeforces>> results = missTogether(() -> {
+            loads.incrementAndGet();
+            awaitCoalesced(CALLERS - 1);
+            throw failure;
+        });
+
+        for (Future<Codeforces> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, service.getMetrics().get("inFlight"));
+
+        // Nothing was cached and the flight is gone, so the next caller loads again
+        assertEquals("tourist", service.get(CACHE, "tourist", () -> profile("tourist")).getUsername());
+    }
+
+    @Test
+    void waitersGiveUpAfterTheSingleFlightWait() throws Exception {
+        service = new ProfileCacheService(cacheManager, backgroundRefreshExecutor,
+                new MockEnvironment().withProperty("app.cache.single-flight-wait-ms", "100"));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Codeforces> owner = callers.submit(() -> service.get(CACHE, "tourist", () -> {
+            await(release);
+            return profile("tourist");
+        }));
+        awaitInFlight();
+
+        IllegalStateException timeout = assertThrows(IllegalStateException.class,
+                () -> service.get(CACHE, "tourist", () -> profile("other")));
+        assertTrue(timeout.getMessage().contains("Timed out"));
+        assertEquals(1L, service.getMetrics().get("waitTimeouts"));
+
+        release.countDown();
+        assertEquals("tourist", owner.get(5, TimeUnit.SECONDS).getUsername());
+    }
+
+    @Test
+    void refreshAheadUsesTheRefresherNotTheLoader() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        Cache cache = cacheManager.getCache(CACHE);
+        cache.put("tourist", new ProfileCacheService.CachedProfile(profile("tourist"), now + 60_000, now - 1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        Codeforces served = service.get(CACHE, "tourist", () -> {
+            loads.incrementAndGet();
+            return profile("tourist");
+        }, () -> {
+            refreshed.countDown();
+            return profile("tourist");
+        });
+
+        assertEquals("tourist", served.getUsername());
+        assertTrue(refreshed.await(2, TimeUnit.SECONDS));
+        assertEquals(0, loads.get());
+    }
+
+    // Every caller misses "tourist" at the same moment
+    private List<Future<Codeforces>> missTogether(Supplier<Codeforces> loader) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Codeforces>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> {
+                await(start);
+                return service.get(CACHE, "tourist", loader);
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    private void awaitCoalesced(long waiters) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((long) service.getMetrics().get("coalesced") < waiters && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((int) service.getMetrics().get("inFlight") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static Codeforces profile(String handle) {
+        Codeforces profile = new Codeforces();
+        profile.setUsername(handle);
+        profile.setOutcome(FetchOutcome.FOUND);
+        return profile;
+    }
+}
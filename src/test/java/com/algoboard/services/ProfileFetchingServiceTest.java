@@ -0,0 +1,105 @@
+package com.algoboard.services;
+
+import com.algoboard.DTO.Codeforces.CF_UserDTO;
+import com.algoboard.entities.Codeforces;
+import com.algoboard.entities.FetchOutcome;
+import com.algoboard.services.CodeforcesRateLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProfileFetchingServiceTest {
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final CodeforcesRatingSyncService ratingSyncService = mock(CodeforcesRatingSyncService.class);
+    private final ProfileSnapshotService profileSnapshotService = mock(ProfileSnapshotService.class);
+    private final PlatformCircuitBreakers breakers = new PlatformCircuitBreakers(5, 60_000);
+
+    @Test
+    void saturatedLimiterServesSnapshotsWithoutTrippingTheBreaker() throws Exception {
+        // One call per minute and the only token already spent: every interactive wait times out
+        CodeforcesRateLimiter limiter = new CodeforcesRateLimiter(60_000, 1);
+        assertTrue(limiter.acquire(Priority.INTERACTIVE, 0));
+        ProfileFetchingService service = service(limiter);
+        when(profileSnapshotService.find(eq(PlatformCircuitBreakers.CODEFORCES), anyString(), eq(Codeforces.class)))
+                .thenAnswer(invocation -> snapshot(invocation.getArgument(1)));
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Codeforces>> views = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String handle = "viewer" + i;
+                views.add(callers.submit(() -> service.fetchCodeforcesProfile(handle)));
+            }
+            for (int i = 0; i < views.size(); i++) {
+                Codeforces profile = views.get(i).get();
+                assertEquals(FetchOutcome.RATE_LIMITED, profile.getOutcome());
+                assertTrue(profile.isStale());
+                assertEquals("viewer" + i, profile.getUsername());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals("CLOSED", breakerState());
+        assertTrue(breakers.allowRequest(PlatformCircuitBreakers.CODEFORCES));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void upstreamErrorsStillTripTheBreaker() {
+        ProfileFetchingService service = service(new CodeforcesRateLimiter(1, 10));
+        when(restTemplate.getForObject(anyString(), eq(CF_UserDTO.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        for (int i = 0; i < 5; i++) {
+            Codeforces profile = service.fetchCodeforcesProfile("viewer" + i);
+            assertEquals(FetchOutcome.UPSTREAM_ERROR, profile.getOutcome());
+            assertTrue(profile.isStale());
+        }
+
+        assertEquals("OPEN", breakerState());
+    }
+
+    private ProfileFetchingService service(CodeforcesRateLimiter limiter) {
+        CodeforcesApiClient apiClient = new CodeforcesApiClient(restTemplate, limiter);
+        CodeforcesUserInfoBatcher batcher = new CodeforcesUserInfoBatcher(apiClient, new ObjectMapper(), Runnable::run);
+        when(ratingSyncService.getRatingHistory(anyString(), any())).thenReturn(List.of());
+        return new ProfileFetchingService(restTemplate, mock(CodeforcesSyncService.class), batcher,
+                ratingSyncService, mock(CodeforcesProblemCatalog.class), mock(ActivityCalendarService.class),
+                runnable -> CompletableFuture.runAsync(runnable), new PlatformBulkheads(new MockEnvironment()),
+                breakers, profileSnapshotService);
+    }
+
+    private static Codeforces snapshot(String handle) {
+        Codeforces profile = new Codeforces();
+        profile.setUsername(handle);
+        return profile;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String breakerState() {
+        Map<String, Object> metrics = (Map<String, Object>) breakers.getMetrics().get(PlatformCircuitBreakers.CODEFORCES);
+        return (String) metrics.get("state");
+    }
+}
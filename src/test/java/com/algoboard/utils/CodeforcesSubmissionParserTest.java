@@ -0,0 +1,136 @@
+package com.algoboard.utils;
+
+import com.algoboard.utils.CodeforcesSubmissionParser.PageResult;
+import com.algoboard.utils.CodeforcesSubmissionParser.Submission;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodeforcesSubmissionParserTest {
+
+    @Test
+    void readsEverySubmission() throws IOException {
+        List<Submission> seen = new ArrayList<>();
+        PageResult page = parse("{\"status\":\"OK\",\"result\":[" + submission(3, "OK") + ","
+                + submission(2, "WRONG_ANSWER") + "," + submission(1, "TESTING") + "]}", seen, Integer.MAX_VALUE);
+
+        assertTrue(page.isOk());
+        assertEquals(3, page.getCount());
+        assertEquals(3, seen.size());
+        Submission first = seen.get(0);
+        assertEquals(3, first.getId());
+        assertEquals(1700000003L, first.getCreationTimeSeconds());
+        assertEquals(1850, first.getContestId());
+        assertEquals("C1", first.getIndex());
+        assertEquals("Problem 3", first.getName());
+        assertEquals("OK", first.getVerdict());
+        assertEquals("TESTING", seen.get(2).getVerdict());
+    }
+
+    @Test
+    void earlyStopCountsTheSubmissionItStoppedOn() throws IOException {
+        List<Submission> seen = new ArrayList<>();
+        PageResult page = parse("{\"status\":\"OK\",\"result\":[" + submission(3, "OK") + "," + submission(2, "OK")
+                + "," + submission(1, "OK") + "]}", seen, 2);
+
+        assertTrue(page.isOk());
+        assertEquals(2, page.getCount());
+        assertEquals(2, seen.size());
+        assertEquals(2, seen.get(1).getId());
+    }
+
+    @Test
+    void failedStatusCarriesTheComment() throws IOException {
+        List<Submission> seen = new ArrayList<>();
+        PageResult page = parse("{\"status\":\"FAILED\",\"comment\":\"handle: User with handle nobody not found\"}",
+                seen, Integer.MAX_VALUE);
+
+        assertFalse(page.isOk());
+        assertEquals(0, page.getCount());
+        assertEquals("handle: User with handle nobody not found", page.getComment());
+        assertTrue(seen.isEmpty());
+    }
+
+    @Test
+    void resultBeforeStatusIsStillOk() throws IOException {
+        String body = "{\"result\":[" + submission(2, "OK") + "," + submission(1, "OK") + "],\"status\":\"OK\"}";
+
+        assertTrue(parse(body, new ArrayList<>(), Integer.MAX_VALUE).isOk());
+
+        // Stopping early must not drop the status that only comes after the result
+        List<Submission> seen = new ArrayList<>();
+        PageResult stopped = parse(body, seen, 1);
+        assertTrue(stopped.isOk());
+        assertEquals(1, stopped.getCount());
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    void unknownNestedValuesAreSkipped() throws IOException {
+        List<Submission> seen = new ArrayList<>();
+        String body = "{\"status\":\"OK\",\"extra\":{\"a\":[1,{\"id\":99}],\"b\":null},\"result\":[{"
+                + "\"id\":7,\"author\":{\"members\":[{\"handle\":\"x\"}],\"participantType\":\"CONTESTANT\"},"
+                + "\"problem\":{\"contestId\":1,\"tags\":[\"dp\",\"greedy\"],\"index\":\"A\",\"rating\":800},"
+                + "\"creationTimeSeconds\":1700000000,\"verdict\":\"OK\",\"passedTestCount\":[1,[2]]}]}";
+        PageResult page = parse(body, seen, Integer.MAX_VALUE);
+
+        assertTrue(page.isOk());
+        assertEquals(1, page.getCount());
+        Submission submission = seen.get(0);
+        assertEquals(7, submission.getId());
+        assertEquals(1, submission.getContestId());
+        assertEquals("A", submission.getIndex());
+        assertEquals("OK", submission.getVerdict());
+        assertEquals(1700000000L, submission.getCreationTimeSeconds());
+    }
+
+    @Test
+    void missingProblemLeavesItsFieldsEmpty() throws IOException {
+        List<Submission> seen = new ArrayList<>();
+        parse("{\"status\":\"OK\",\"result\":[" + submission(2, "OK")
+                + ",{\"id\":1,\"creationTimeSeconds\":5,\"verdict\":\"OK\"}]}", seen, Integer.MAX_VALUE);
+
+        // The reused instance is reset between submissions, nothing leaks over from the previous one
+        Submission submission = seen.get(1);
+        assertEquals(1, submission.getId());
+        assertEquals(0, submission.getContestId());
+        assertNull(submission.getIndex());
+        assertNull(submission.getName());
+    }
+
+    @Test
+    void nonObjectTopLevelIsNotOk() throws IOException {
+        List<Submission> seen = new ArrayList<>();
+        PageResult page = parse("[" + submission(1, "OK") + "]", seen, Integer.MAX_VALUE);
+
+        assertFalse(page.isOk());
+        assertEquals(0, page.getCount());
+        assertTrue(seen.isEmpty());
+        assertFalse(parse("\"OK\"", seen, Integer.MAX_VALUE).isOk());
+    }
+
+    // Parses body keeping a copy of each visited submission, stopping after limit of them
+    private static PageResult parse(String body, List<Submission> seen, int limit) throws IOException {
+        return CodeforcesSubmissionParser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                submission -> {
+                    seen.add(submission.copy());
+                    return seen.size() < limit;
+                });
+    }
+
+    private static String submission(long id, String verdict) {
+        return "{\"id\":" + id + ",\"contestId\":1850,\"creationTimeSeconds\":" + (1700000000L + id)
+                + ",\"problem\":{\"contestId\":1850,\"index\":\"C1\",\"name\":\"Problem " + id + "\"},"
+                + "\"verdict\":\"" + verdict + "\"}";
+    }
+}
@@ -0,0 +1,116 @@
+package com.algoboard.utils;
+
+import com.algoboard.DTO.ContestDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ContestCalendarTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 10, 1, 20, 0);
+
+    @Test
+    void contestIsLiveFromItsStartUntilJustBeforeItsEnd() {
+        ContestDTO round = contest("round", 0, 120);
+        ContestCalendar calendar = new ContestCalendar(List.of(round));
+
+        assertEquals(List.of(round), calendar.at(T0.minusSeconds(1)).getUpcoming());
+        assertEquals(List.of(round), calendar.at(T0).getLive());
+        assertEquals(List.of(round), calendar.at(T0.plusMinutes(120).minusSeconds(1)).getLive());
+
+        ContestCalendar.View atEnd = calendar.at(T0.plusMinutes(120));
+        assertEquals(List.of(), atEnd.getLive());
+        assertEquals(List.of(round), atEnd.getFinished());
+    }
+
+    @Test
+    void contestWithoutEndTimeIsFinishedFromItsStart() {
+        ContestDTO open = new ContestDTO("open", "open", null, "codechef", T0, null, 0);
+        ContestCalendar calendar = new ContestCalendar(List.of(open));
+
+        assertEquals(List.of(open), calendar.at(T0.minusSeconds(1)).getUpcoming());
+        ContestCalendar.View atStart = calendar.at(T0);
+        assertEquals(List.of(), atStart.getLive());
+        assertEquals(List.of(open), atStart.getFinished());
+    }
+
+    @Test
+    void endBeforeStartIsClampedToTheStart() {
+        ContestDTO broken = new ContestDTO("broken", "broken", null, "atcoder", T0, T0.minusHours(1), 0);
+        ContestCalendar calendar = new ContestCalendar(List.of(broken));
+
+        // Still upcoming right before its start even though its end has passed
+        assertEquals(List.of(broken), calendar.at(T0.minusMinutes(30)).getUpcoming());
+        assertEquals(List.of(broken), calendar.at(T0).getFinished());
+    }
+
+    @Test
+    void contestsWithoutStartTimeAreLeftOut() {
+        ContestDTO undated = new ContestDTO("undated", "undated", null, "leetcode", null, null, 0);
+        ContestCalendar calendar = new ContestCalendar(List.of(undated, contest("round", 0, 60)));
+        assertEquals(1, calendar.size());
+    }
+
+    @Test
+    void partitionsAreOrderedByStart() {
+        ContestDTO finishedEarly = contest("finishedEarly", -300, 60);
+        ContestDTO finishedLate = contest("finishedLate", -120, 60);
+        // Started first, ends last: ends are sorted apart from starts
+        ContestDTO longLive = contest("longLive", -240, 600);
+        ContestDTO shortLive = contest("shortLive", -30, 60);
+        ContestDTO soon = contest("soon", 30, 60);
+        ContestDTO later = contest("later", 600, 60);
+        List<ContestDTO> shuffled = new ArrayList<>(
+                Arrays.asList(later, shortLive, finishedEarly, soon, longLive, finishedLate));
+        ContestCalendar calendar = new ContestCalendar(shuffled);
+
+        ContestCalendar.View view = calendar.at(T0);
+        assertEquals(List.of(longLive, shortLive), view.getLive());
+        assertEquals(List.of(soon, later), view.getUpcoming());
+        assertEquals(List.of(finishedLate, finishedEarly), view.getFinished());
+        assertEquals(List.of(longLive, shortLive, soon, later, finishedLate, finishedEarly), view.getContests());
+    }
+
+    @Test
+    void viewIsReusedUntilTheNextStartOrEnd() {
+        ContestDTO first = contest("first", 0, 60);
+        ContestDTO second = contest("second", 90, 60);
+        ContestCalendar calendar = new ContestCalendar(List.of(first, second));
+
+        ContestCalendar.View view = calendar.at(T0.plusMinutes(10));
+        assertEquals(T0.plusMinutes(60), view.getValidUntil());
+        assertSame(view, calendar.at(T0));
+        assertSame(view, calendar.at(T0.plusMinutes(60).minusSeconds(1)));
+
+        ContestCalendar.View afterEnd = calendar.at(T0.plusMinutes(60));
+        assertNotSame(view, afterEnd);
+        assertEquals(List.of(first), afterEnd.getFinished());
+        assertEquals(T0.plusMinutes(90), afterEnd.getValidUntil());
+
+        // Going back before the window start builds a fresh view too
+        ContestCalendar.View before = calendar.at(T0.minusSeconds(1));
+        assertEquals(List.of(first, second), before.getUpcoming());
+        assertEquals(T0, before.getValidUntil());
+    }
+
+    @Test
+    void lastViewIsValidForever() {
+        ContestCalendar calendar = new ContestCalendar(List.of(contest("round", 0, 60)));
+        assertNull(calendar.at(T0.plusHours(2)).getValidUntil());
+        assertNull(new ContestCalendar(List.of()).at(T0).getValidUntil());
+    }
+
+    private static ContestDTO contest(String id, long startOffsetMinutes, long durationMinutes) {
+        LocalDateTime start = T0.plusMinutes(startOffsetMinutes);
+        return new ContestDTO(id, id, null, "codeforces", start, start.plusMinutes(durationMinutes),
+                durationMinutes * 60);
+    }
+}
@@ -0,0 +1,101 @@
+package com.algoboard.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.AbstractMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and probing the solved set of one heavy user: SolvedProblemSet
+ * against the boxed HashSet of (contestId, index) pairs it replaced.
+ *
+ * The fixture is synthetic, 10k submissions drawn with a fixed seed over 2000
+ * contests and the usual index shapes ("A".."F" plus "C1", "F2" splits), so
+ * runs are comparable. Run with
+ * java -cp target/test-classes:<test classpath> org.openjdk.jmh.Main SolvedProblemSetBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolvedProblemSetBenchmark {
+    private static final int SUBMISSIONS = 10_000;
+    private static final String[] INDICES = { "A", "B", "C", "D", "E", "F", "C1", "C2", "F1", "F2" };
+
+    private long[] contestIds;
+    private String[] indices;
+    private SolvedProblemSet packed;
+    private long[] sortedKeys;
+    private Set<AbstractMap.SimpleEntry<Long, String>> boxed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20240601L);
+        contestIds = new long[SUBMISSIONS];
+        indices = new String[SUBMISSIONS];
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            contestIds[i] = 1 + random.nextInt(2000);
+            indices[i] = INDICES[random.nextInt(INDICES.length)];
+        }
+        packed = buildPacked();
+        boxed = buildBoxed();
+        sortedKeys = packed.toSortedArray();
+    }
+
+    @Benchmark
+    public SolvedProblemSet buildPacked() {
+        SolvedProblemSet set = new SolvedProblemSet();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            set.add(contestIds[i], indices[i]);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public Set<AbstractMap.SimpleEntry<Long, String>> buildBoxed() {
+        Set<AbstractMap.SimpleEntry<Long, String>> set = new HashSet<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            set.add(new AbstractMap.SimpleEntry<>(contestIds[i], indices[i]));
+        }
+        return set;
+    }
+
+    @Benchmark
+    public void probePacked(Blackhole blackhole) {
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            blackhole.consume(packed.contains(contestIds[i] + 1, indices[i]));
+        }
+    }
+
+    @Benchmark
+    public void probeBoxed(Blackhole blackhole) {
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            blackhole.consume(boxed.contains(new AbstractMap.SimpleEntry<>(contestIds[i] + 1, indices[i])));
+        }
+    }
+
+    // The per-sync cost of folding a handful of new problems into the persisted sorted keys
+    @Benchmark
+    public long[] mergeNewProblems() {
+        SolvedProblemSet fresh = new SolvedProblemSet();
+        for (int i = 0; i < 50; i++) {
+            fresh.add(3000 + i, "A");
+        }
+        return fresh.mergeSorted(sortedKeys);
+    }
+}
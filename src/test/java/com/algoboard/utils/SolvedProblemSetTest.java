@@ -0,0 +1,147 @@
+package com.algoboard.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolvedProblemSetTest {
+
+    @Test
+    void packsSingleAndMultiCharacterIndices() {
+        for (String index : new String[] { "A", "F2", "A1", "B10", "ABCD" }) {
+            long key = SolvedProblemSet.pack(1850, index);
+            assertEquals(1850, SolvedProblemSet.contestId(key));
+            assertEquals(index, SolvedProblemSet.index(key));
+        }
+        assertNotEquals(SolvedProblemSet.pack(1, "A1"), SolvedProblemSet.pack(1, "A"));
+        assertNotEquals(SolvedProblemSet.pack(1, "A1"), SolvedProblemSet.pack(1, "1A"));
+    }
+
+    @Test
+    void packsContestIdsAboveTwoToTheThirtyOne() {
+        long contestId = 3_000_000_000L;
+        long key = SolvedProblemSet.pack(contestId, "C");
+        assertEquals(contestId, SolvedProblemSet.contestId(key));
+        assertEquals("C", SolvedProblemSet.index(key));
+
+        SolvedProblemSet set = new SolvedProblemSet();
+        assertTrue(set.add(contestId, "C"));
+        assertTrue(set.contains(contestId, "C"));
+        assertFalse(set.contains(contestId + 1, "C"));
+
+        long maxKey = SolvedProblemSet.pack(0xFFFFFFFFL, "ZZZZ");
+        assertEquals(0xFFFFFFFFL, SolvedProblemSet.contestId(maxKey));
+        assertEquals("ZZZZ", SolvedProblemSet.index(maxKey));
+    }
+
+    @Test
+    void hashesIndicesThatDoNotFit() {
+        long key = SolvedProblemSet.pack(42, "LONGER");
+        assertEquals(42, SolvedProblemSet.contestId(key));
+        assertNull(SolvedProblemSet.index(key));
+        assertNull(SolvedProblemSet.index(SolvedProblemSet.pack(42, "Ä")));
+
+        SolvedProblemSet set = new SolvedProblemSet();
+        set.add(42, "LONGER");
+        assertTrue(set.contains(42, "LONGER"));
+        assertFalse(set.contains(42, "LONG"));
+    }
+
+    @Test
+    void tracksTheZeroKey() {
+        SolvedProblemSet set = new SolvedProblemSet();
+        assertFalse(set.contains(0L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+        assertArrayEquals(new long[] { 0L }, set.toSortedArray());
+    }
+
+    @Test
+    void clusteredKeysStayReachableAcrossResizes() {
+        // Same index in consecutive contests only differs in the high bits, the worst case for probing
+        SolvedProblemSet set = new SolvedProblemSet();
+        for (int contestId = 1; contestId <= 5000; contestId++) {
+            assertTrue(set.add(contestId, "A"));
+            assertFalse(set.add(contestId, "A"));
+        }
+        assertEquals(5000, set.size());
+        for (int contestId = 1; contestId <= 5000; contestId++) {
+            assertTrue(set.contains(contestId, "A"));
+            assertFalse(set.contains(contestId, "B"));
+        }
+    }
+
+    @Test
+    void matchesAHashSetOnRandomKeys() {
+        Random random = new Random(7);
+        SolvedProblemSet set = new SolvedProblemSet(4);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            long key = SolvedProblemSet.pack(random.nextInt(2000), String.valueOf((char) ('A' + random.nextInt(8))));
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+        long[] sorted = expected.stream().mapToLong(Long::longValue).sorted().toArray();
+        assertArrayEquals(sorted, set.toSortedArray());
+        assertArrayEquals(sorted, SolvedProblemSet.of(sorted).toSortedArray());
+    }
+
+    @Test
+    void setOperations() {
+        SolvedProblemSet a = SolvedProblemSet.of(new long[] { 1, 2, 3, 4 });
+        SolvedProblemSet b = SolvedProblemSet.of(new long[] { 3, 4, 5 });
+        assertArrayEquals(new long[] { 1, 2, 3, 4, 5 }, SolvedProblemSet.union(a, b).toSortedArray());
+        assertArrayEquals(new long[] { 3, 4 }, SolvedProblemSet.intersection(a, b).toSortedArray());
+        assertArrayEquals(new long[] { 1, 2 }, SolvedProblemSet.difference(a, b).toSortedArray());
+        assertEquals(4, a.size());
+
+        SolvedProblemSet copy = a.copy();
+        copy.add(9);
+        assertFalse(a.contains(9));
+    }
+
+    @Test
+    void mergeSortedAddsOnlyNewKeys() {
+        long[] stored = { 2, 5, 9 };
+        SolvedProblemSet fresh = SolvedProblemSet.of(new long[] { 9, 1, 6, 5, 12 });
+        assertArrayEquals(new long[] { 1, 2, 5, 6, 9, 12 }, fresh.mergeSorted(stored));
+        assertArrayEquals(new long[] { 2, 5, 9 }, stored);
+    }
+
+    @Test
+    void mergeSortedReturnsTheStoredArrayWhenNothingIsNew() {
+        long[] stored = { 2, 5, 9 };
+        assertSame(stored, SolvedProblemSet.of(new long[] { 5, 9 }).mergeSorted(stored));
+        assertSame(stored, new SolvedProblemSet().mergeSorted(stored));
+    }
+
+    @Test
+    void mergeSortedTreatsNullAsEmpty() {
+        assertArrayEquals(new long[0], new SolvedProblemSet().mergeSorted(null));
+        assertArrayEquals(new long[] { 3, 7 }, SolvedProblemSet.of(new long[] { 7, 3 }).mergeSorted(null));
+    }
+
+    @Test
+    void mergeSortedKeepsSignedOrder() {
+        long high = SolvedProblemSet.pack(3_000_000_000L, "A");
+        long low = SolvedProblemSet.pack(1, "A");
+        long[] stored = { low };
+        long[] merged = SolvedProblemSet.of(new long[] { high }).mergeSorted(stored);
+        long[] expected = { low, high };
+        Arrays.sort(expected);
+        assertArrayEquals(expected, merged);
+    }
+}
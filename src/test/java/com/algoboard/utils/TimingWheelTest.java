@@ -0,0 +1,112 @@
+package com.algoboard.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * A 10ms tick with 4 slots and 2 levels: level 0 spans 40ms, level 1 160ms,
+ * so a few hundred milliseconds exercise placement, cascading and overflow.
+ */
+class TimingWheelTest {
+    private static final long TICK_MILLIS = 10;
+
+    // Tasks run on the wheel thread itself, firing order is the order the wheel expires them
+    private final TimingWheel wheel = new TimingWheel("TestWheel", TICK_MILLIS, 4, 2, Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void pastDeadlineRunsOnTheNextTick() throws InterruptedException {
+        wheel.start();
+        CountDownLatch ran = new CountDownLatch(1);
+        wheel.schedule(System.currentTimeMillis() - 60_000, ran::countDown);
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+        assertEquals(1, wheel.getFired());
+    }
+
+    @Test
+    void levelZeroTimerFiresNoEarlierThanItsDeadline() throws InterruptedException {
+        assertFiresOnTime(25);
+    }
+
+    @Test
+    void upperLevelTimerCascadesDown() throws InterruptedException {
+        assertFiresOnTime(120);
+    }
+
+    @Test
+    void deadlineBeyondTheTopLevelWaitsInOverflow() throws InterruptedException {
+        assertFiresOnTime(450);
+    }
+
+    @Test
+    void cancelledTimerNeverRuns() throws InterruptedException {
+        wheel.start();
+        CountDownLatch ran = new CountDownLatch(1);
+        CountDownLatch marker = new CountDownLatch(1);
+        long now = System.currentTimeMillis();
+        TimingWheel.Timeout near = wheel.schedule(now + 30, ran::countDown);
+        TimingWheel.Timeout far = wheel.schedule(now + 250, ran::countDown);
+        near.cancel();
+        far.cancel();
+        wheel.schedule(now + 300, marker::countDown);
+
+        assertTrue(marker.await(2, TimeUnit.SECONDS));
+        assertFalse(ran.await(0, TimeUnit.MILLISECONDS));
+        assertTrue(near.isCancelled());
+        assertEquals(1, wheel.getFired());
+        assertEquals(0, wheel.getPending());
+    }
+
+    @Test
+    void manyTimersAllFireAndNoneEarly() throws InterruptedException {
+        wheel.start();
+        Random random = new Random(11);
+        int count = 200;
+        CountDownLatch ran = new CountDownLatch(count);
+        Map<Integer, Long> late = new ConcurrentHashMap<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            int id = i;
+            long deadline = now + random.nextInt(500);
+            wheel.schedule(deadline, () -> {
+                late.put(id, System.currentTimeMillis() - deadline);
+                ran.countDown();
+            });
+        }
+        assertTrue(ran.await(3, TimeUnit.SECONDS));
+        assertEquals(count, late.size());
+        for (long lateness : late.values()) {
+            assertTrue(lateness >= 0, "fired " + -lateness + "ms early");
+        }
+        assertEquals(count, wheel.getFired());
+        assertEquals(0, wheel.getPending());
+    }
+
+    private void assertFiresOnTime(long delayMillis) throws InterruptedException {
+        wheel.start();
+        CountDownLatch ran = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + delayMillis;
+        long[] firedAt = new long[1];
+        wheel.schedule(deadline, () -> {
+            firedAt[0] = System.currentTimeMillis();
+            ran.countDown();
+        });
+        assertTrue(ran.await(delayMillis + 1000, TimeUnit.MILLISECONDS));
+        assertTrue(firedAt[0] >= deadline, "fired " + (deadline - firedAt[0]) + "ms early");
+        assertEquals(0, wheel.getPending());
+    }
+}